@@ -0,0 +1,53 @@
+package datastructures;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+
+// Input data shared by the benchmarks
+class BenchmarkData {
+
+    // How the values of a generated input are distributed
+    enum Distribution {
+        SEQUENTIAL, // 0, 1, 2, ... n-1
+        RANDOM,     // Uniform in [0, n), a few duplicates
+        FEW_UNIQUE  // Uniform in [0, 16), mostly duplicates
+    }
+
+    // Returns size values with the given distribution, always the same ones for the same arguments
+    static int[] values(Distribution distribution, int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case SEQUENTIAL:
+                    values[i] = i;
+                    break;
+                case RANDOM:
+                    values[i] = random.nextInt(size);
+                    break;
+                default:
+                    values[i] = random.nextInt(16);
+                    break;
+            }
+        }
+        return values;
+    }
+
+    // Several helpers print what they did, which would swamp the measurement. Call restoreOutput afterwards.
+    private static PrintStream originalOut;
+
+    static void silenceOutput() {
+        if (originalOut == null) {
+            originalOut = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+    }
+
+    static void restoreOutput() {
+        if (originalOut != null) {
+            System.setOut(originalOut);
+            originalOut = null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// BinaryTree traversals: the recursive printing ones next to the iterative TreeTraversal engine,
+// on a balanced search tree built from the generated values
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BinaryTreeBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "FEW_UNIQUE"})
+    BenchmarkData.Distribution distribution;
+
+    @Param({"PREORDER", "INORDER", "POSTORDER"})
+    TreeTraversal.Mode mode;
+
+    BinaryTree tree;
+    // The distinct generated values in increasing order, for the bulk loader
+    int[] sorted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceOutput();
+        tree = new BinaryTree();
+        for (int value : BenchmarkData.values(distribution, size)) {
+            BinaryTree.insert(tree, value);
+        }
+        sorted = BinaryTree.stream(tree).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreOutput();
+    }
+
+    // Prints every value, the output goes nowhere during the benchmark
+    @Benchmark
+    public void recursive() {
+        switch (mode) {
+            case PREORDER:
+                BinaryTree.preOrderTraversalRecursion(tree.root);
+                break;
+            case INORDER:
+                BinaryTree.inOrderTraversalRecursion(tree.root);
+                break;
+            default:
+                BinaryTree.postOrderTraversalRecursion(tree.root);
+                break;
+        }
+    }
+
+    @Benchmark
+    public void morris(Blackhole blackhole) {
+        TreeTraversal.traverse(tree, mode, value -> {
+            blackhole.consume(value);
+            return true;
+        });
+    }
+
+    // The streams are always in-order, whatever the mode
+    @Benchmark
+    public long streamSum() {
+        return BinaryTree.stream(tree).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long parallelStreamSum() {
+        return BinaryTree.stream(tree).parallel().asLongStream().sum();
+    }
+
+    // Building the same tree key by key against the O(n) bulk loader
+    @Benchmark
+    public BinaryTree insertAll() {
+        BinaryTree built = new BinaryTree();
+        for (int value : sorted) {
+            BinaryTree.insert(built, value);
+        }
+        return built;
+    }
+
+    @Benchmark
+    public BinaryTree fromSorted() {
+        return BinaryTree.fromSorted(sorted);
+    }
+
+    @Benchmark
+    public BinaryTree merge() {
+        return BinaryTree.merge(tree, tree);
+    }
+
+    // Order statistics walk one path, the scan is what answering the same question took before
+    @Benchmark
+    public int select() {
+        return BinaryTree.select(tree, BinaryTree.size(tree.root) / 2).data;
+    }
+
+    @Benchmark
+    public int rank() {
+        return BinaryTree.rank(tree, size / 2);
+    }
+
+    @Benchmark
+    public long sumInRange() {
+        return BinaryTree.sumInRange(tree, size / 4, 3 * (size / 4));
+    }
+
+    @Benchmark
+    public long sumInRangeScan() {
+        int low = size / 4;
+        int high = 3 * (size / 4);
+        return BinaryTree.stream(tree).filter(value -> value >= low && value <= high).asLongStream().sum();
+    }
+
+    @Benchmark
+    public boolean insertAndDelete() {
+        BinaryTree.insert(tree, -1);
+        return BinaryTree.delete(tree, -1);
+    }
+}
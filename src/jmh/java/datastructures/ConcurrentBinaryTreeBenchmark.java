@@ -0,0 +1,99 @@
+package datastructures;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The same mix of lookups, inserts and deletes from several threads on ConcurrentBinaryTree, ConcurrentSkipListMap
+// and a BinaryTree behind one read-write lock. readPercent 90 is the read-heavy workload, 50 the mixed one.
+// Keys are drawn from twice the initial size, so the trees stay about half full.
+// Change the number of threads with -t, e.g. -Djmh.args="ConcurrentBinaryTreeBenchmark -t 8".
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentBinaryTreeBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    @Param({"90", "50"})
+    int readPercent;
+
+    ConcurrentBinaryTree tree;
+    ConcurrentSkipListMap<Integer, Boolean> skipList;
+    BinaryTree locked;
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tree = new ConcurrentBinaryTree();
+        skipList = new ConcurrentSkipListMap<>();
+        locked = new BinaryTree();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < size; i++) {
+            int key = random.nextInt(2 * size);
+            tree.insert(key);
+            skipList.put(key, Boolean.TRUE);
+            BinaryTree.insert(locked, key);
+        }
+    }
+
+    @Benchmark
+    public boolean concurrentBinaryTree() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(2 * size);
+        int operation = random.nextInt(100);
+        if (operation < readPercent) return tree.contains(key);
+        return (operation & 1) == 0 ? tree.insert(key) : tree.delete(key);
+    }
+
+    @Benchmark
+    public boolean concurrentSkipListMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(2 * size);
+        int operation = random.nextInt(100);
+        if (operation < readPercent) return skipList.containsKey(key);
+        if ((operation & 1) == 0) return skipList.putIfAbsent(key, Boolean.TRUE) == null;
+        return skipList.remove(key) != null;
+    }
+
+    @Benchmark
+    public boolean lockedBinaryTree() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(2 * size);
+        int operation = random.nextInt(100);
+        if (operation < readPercent) {
+            lock.readLock().lock();
+            try {
+                return BinaryTree.contains(locked, key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            return (operation & 1) == 0 ? BinaryTree.insert(locked, key) : BinaryTree.delete(locked, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
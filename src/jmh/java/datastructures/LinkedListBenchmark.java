@@ -0,0 +1,200 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The linear LinkedList operations, from 1K to 10M nodes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LinkedListBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "FEW_UNIQUE"})
+    BenchmarkData.Distribution distribution;
+
+    int[] values;
+    LinkedList list;
+    // Value at the end of list that occurs nowhere else, so deleteNode always scans the whole list
+    static final int MISSING = Integer.MIN_VALUE;
+    LinkedList.Node sentinel;
+
+    // Two lists of equal length that share their second half, for the mergePoint strategies
+    LinkedList list1;
+    LinkedList list2;
+    LinkedList.Node mergeNode;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceOutput();
+        values = BenchmarkData.values(distribution, size);
+        list = LinkedList.fromArray(values);
+        sentinel = new LinkedList.Node(MISSING);
+        LinkedList.appendNode(list, sentinel);
+
+        int half = size / 2;
+        list1 = LinkedList.fromArray(Arrays.copyOfRange(values, 0, half));
+        list2 = LinkedList.fromArray(Arrays.copyOfRange(values, 0, half));
+        LinkedList shared = LinkedList.fromArray(Arrays.copyOfRange(values, half, size));
+        mergeNode = shared.head;
+        LinkedList.appendNode(list1, shared.head);
+        LinkedList.appendNode(list2, shared.head);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreOutput();
+    }
+
+    @Benchmark
+    public LinkedList appendNode() {
+        LinkedList built = new LinkedList();
+        for (int value : values) {
+            LinkedList.appendNode(built, new LinkedList.Node(value));
+        }
+        return built;
+    }
+
+    @Benchmark
+    public LinkedList fromArray() {
+        return LinkedList.fromArray(values);
+    }
+
+    // Deletes the last node and appends it again, so the list is the same for the next call
+    @Benchmark
+    public LinkedList deleteNode() {
+        LinkedList.deleteNode(list, MISSING);
+        sentinel.next = null;
+        LinkedList.appendNode(list, sentinel);
+        return list;
+    }
+
+    @Benchmark
+    public long streamSum() {
+        return LinkedList.stream(list).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long parallelStreamSum() {
+        return LinkedList.stream(list).parallel().asLongStream().sum();
+    }
+
+    @Benchmark
+    public boolean containsLoop() {
+        return LinkedList.containsLoop(list);
+    }
+
+    @Benchmark
+    public boolean containsLoopRef() {
+        return LinkedList.containsLoopRef(list);
+    }
+
+    // The boxed baseline containsLoopRef and the visit epochs replaced: a HashSet of the nodes seen so far
+    @Benchmark
+    public boolean containsLoopHashSet() {
+        HashSet<LinkedList.Node> seen = new HashSet<>();
+        for (LinkedList.Node node = list.head; node != null; node = node.next) {
+            if (!seen.add(node)) return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean containsLoopFlagged() {
+        return LinkedList.containsLoopFlagged(list);
+    }
+
+    // Runs on a copy because duplicates are only removed once
+    @Benchmark
+    public LinkedList removeDuplicatesRef() {
+        LinkedList copy = LinkedList.fromArray(values);
+        LinkedList.removeDuplicatesRef(copy);
+        return copy;
+    }
+
+    // Every distribution stays in [0, size), which is the range of the bitmap
+    @Benchmark
+    public LinkedList removeDuplicatesBitmap() {
+        LinkedList copy = LinkedList.fromArray(values);
+        LinkedList.removeDuplicatesRef(copy, 0, size - 1);
+        return copy;
+    }
+
+    // Sorting relinks the nodes, so it runs on a fresh copy like removeDuplicatesRef
+    @Benchmark
+    public LinkedList sort() {
+        LinkedList copy = LinkedList.fromArray(values);
+        LinkedList.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public LinkedList parallelSort() {
+        LinkedList copy = LinkedList.fromArray(values);
+        LinkedList.parallelSort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public boolean hasCycle() {
+        return ListAnalysis.hasCycle(list);
+    }
+
+    // mergePoint2 chops the longer list, both are equal here but the heads are put back anyway
+    @Benchmark
+    public LinkedList.Node mergePoint2() {
+        LinkedList.Node head1 = list1.head;
+        LinkedList.Node head2 = list2.head;
+        int size1 = list1.size;
+        int size2 = list2.size;
+        LinkedList.Node result = LinkedList.mergePoint2(list1, list2);
+        list1.head = head1;
+        list2.head = head2;
+        list1.size = size1;
+        list2.size = size2;
+        return result;
+    }
+
+    @Benchmark
+    public LinkedList.Node mergePoint3() {
+        return LinkedList.mergePoint3(list1, list2);
+    }
+
+    // mergePoint4 turns list1 into a loop, which is undone after every call
+    @Benchmark
+    public LinkedList.Node mergePoint4() {
+        LinkedList.Node result = LinkedList.mergePoint4(list1, list2);
+        list1.tail.next = null;
+        return result;
+    }
+
+    @Benchmark
+    public LinkedList.Node mergePoint5() {
+        return LinkedList.mergePoint5(list1, list2);
+    }
+
+    // Reads the lists only, nothing to put back; mergePoint1 is O(n*m), it is compared in QuadraticLinkedListBenchmark
+    @Benchmark
+    public LinkedList.Node mergePointAnalysis() {
+        return ListAnalysis.mergePoint(list1, list2);
+    }
+}
@@ -0,0 +1,95 @@
+package datastructures;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Many readers and one writer on the same tree: PersistentTree snapshots against a BinaryTree behind a read-write lock.
+// Each group has one writer that keeps inserting and deleting keys and readers that look keys up.
+// Change the number of readers with -tg, e.g. -Djmh.args="PersistentTreeBenchmark -tg 8,1".
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistentTreeBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    PersistentTree persistent;
+    BinaryTree locked;
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        persistent = new PersistentTree();
+        locked = new BinaryTree();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < size; i++) {
+            int key = random.nextInt(2 * size);
+            persistent.insert(key);
+            BinaryTree.insert(locked, key);
+        }
+    }
+
+    private int randomKey() {
+        return ThreadLocalRandom.current().nextInt(2 * size);
+    }
+
+    @Benchmark
+    @Group("persistent")
+    @GroupThreads(3)
+    public boolean persistentRead() {
+        return persistent.snapshot().contains(randomKey());
+    }
+
+    @Benchmark
+    @Group("persistent")
+    @GroupThreads(1)
+    public boolean persistentWrite() {
+        int key = randomKey();
+        return persistent.insert(key) || persistent.delete(key);
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(3)
+    public boolean lockedRead() {
+        lock.readLock().lock();
+        try {
+            return BinaryTree.contains(locked, randomKey());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public boolean lockedWrite() {
+        int key = randomKey();
+        lock.writeLock().lock();
+        try {
+            return BinaryTree.insert(locked, key) || BinaryTree.delete(locked, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
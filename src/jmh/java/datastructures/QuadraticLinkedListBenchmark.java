@@ -0,0 +1,76 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The O(n^2) and O(n*m) LinkedList operations next to their linear alternatives, on sizes where they finish
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuadraticLinkedListBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "FEW_UNIQUE"})
+    BenchmarkData.Distribution distribution;
+
+    int[] values;
+    LinkedList list1;
+    LinkedList list2;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = BenchmarkData.values(distribution, size);
+        int half = size / 2;
+        list1 = LinkedList.fromArray(Arrays.copyOfRange(values, 0, half));
+        list2 = LinkedList.fromArray(Arrays.copyOfRange(values, 0, half));
+        LinkedList shared = LinkedList.fromArray(Arrays.copyOfRange(values, half, size));
+        LinkedList.appendNode(list1, shared.head);
+        LinkedList.appendNode(list2, shared.head);
+    }
+
+    @Benchmark
+    public LinkedList removeDuplicates() {
+        LinkedList copy = LinkedList.fromArray(values);
+        LinkedList.removeDuplicates(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public LinkedList removeDuplicatesRef() {
+        LinkedList copy = LinkedList.fromArray(values);
+        LinkedList.removeDuplicatesRef(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public LinkedList.Node mergePoint1() {
+        return LinkedList.mergePoint1(list1, list2);
+    }
+
+    @Benchmark
+    public LinkedList.Node mergePoint5() {
+        return LinkedList.mergePoint5(list1, list2);
+    }
+
+    @Benchmark
+    public LinkedList.Node mergePointAnalysis() {
+        return ListAnalysis.mergePoint(list1, list2);
+    }
+}
@@ -0,0 +1,120 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Sorted intersection, union, difference and k-way merge of LinkedLists.
+// The small list has size / ratio values, so ratio = 1000 is a very skewed pair.
+// The in-place forms consume their inputs, so those lists are rebuilt before every call.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SortedSetBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    @Param({"1", "10", "100", "1000"})
+    int ratio;
+
+    @Param({"16"})
+    int lists;
+
+    int[] large;
+    int[] small;
+    int[][] parts;
+
+    LinkedList largeList;
+    LinkedList smallList;
+    LinkedList[] partLists;
+
+    // Sorted values drawn from the same range, so the lists overlap
+    static int[] sortedValues(int size, int range, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(range);
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        large = sortedValues(size, 2 * size, 1);
+        small = sortedValues(Math.max(size / ratio, 1), 2 * size, 2);
+        parts = new int[lists][];
+        for (int i = 0; i < lists; i++) {
+            parts[i] = sortedValues(size / lists, 2 * size, 3 + i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void buildLists() {
+        largeList = LinkedList.fromArray(large);
+        smallList = LinkedList.fromArray(small);
+        partLists = new LinkedList[lists];
+        for (int i = 0; i < lists; i++) {
+            partLists[i] = LinkedList.fromArray(parts[i]);
+        }
+    }
+
+    @Benchmark
+    public LinkedList intersection() {
+        return LinkedList.sortedIntersection(largeList, smallList);
+    }
+
+    @Benchmark
+    public LinkedList intersectionInPlace() {
+        LinkedList.sortedIntersectionInPlace(smallList, largeList);
+        return smallList;
+    }
+
+    @Benchmark
+    public LinkedList union() {
+        return LinkedList.sortedUnion(largeList, smallList);
+    }
+
+    @Benchmark
+    public LinkedList unionInPlace() {
+        LinkedList.sortedUnionInPlace(largeList, smallList);
+        return largeList;
+    }
+
+    @Benchmark
+    public LinkedList difference() {
+        return LinkedList.sortedDifference(largeList, smallList);
+    }
+
+    @Benchmark
+    public LinkedList differenceInPlace() {
+        LinkedList.sortedDifferenceInPlace(largeList, smallList);
+        return largeList;
+    }
+
+    @Benchmark
+    public LinkedList kWayMerge() {
+        return LinkedList.kWayMerge(partLists);
+    }
+
+    @Benchmark
+    public LinkedList kWayMergeInPlace() {
+        return LinkedList.kWayMergeInPlace(partLists);
+    }
+}
@@ -0,0 +1,98 @@
+package datastructures;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Push/pop throughput of the stacks.
+// The single-threaded benchmarks push depth values and pop them again.
+// In the shared benchmarks every thread pushes and pops in turn on one stack, so pushes and pops collide.
+// StackContentionSweep runs them at 1 to 64 threads and prints the throughput of each stack per thread count.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackBenchmark {
+
+    @State(Scope.Thread)
+    public static class Depth {
+        @Param({"1000", "100000", "10000000"})
+        int depth;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        final MyStack<Integer> locked = new MyStack<Integer>();
+        final ConcurrentStack<Integer> concurrent = new ConcurrentStack<Integer>();
+        final ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<Integer>();
+    }
+
+    static final Integer ITEM = Integer.valueOf(42);
+
+    @Benchmark
+    public long myStackPushPop(Depth state) {
+        MyStack<Integer> stack = new MyStack<Integer>();
+        for (int i = 0; i < state.depth; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intStackPushPop(Depth state) {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < state.depth; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Integer sharedLockedMyStack(Shared shared) {
+        synchronized (shared.locked) {
+            shared.locked.push(ITEM);
+        }
+        synchronized (shared.locked) {
+            return shared.locked.isEmpty() ? null : shared.locked.pop();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Integer sharedConcurrentStack(Shared shared) {
+        shared.concurrent.push(ITEM);
+        try {
+            return shared.concurrent.pop();
+        } catch (EmptyStackException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Integer sharedConcurrentLinkedDeque(Shared shared) {
+        shared.deque.push(ITEM);
+        return shared.deque.pollFirst();
+    }
+}
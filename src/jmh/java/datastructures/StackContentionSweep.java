@@ -0,0 +1,67 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the shared StackBenchmark benchmarks once per thread count and prints their throughput side by side,
+// so the stacks can be compared as contention grows.
+// The first argument may be a comma separated list of thread counts, every other argument is passed on to JMH:
+//   mvn -B -Pjmh test-compile exec:exec -Djmh.main=datastructures.StackContentionSweep
+//   mvn -B -Pjmh test-compile exec:exec -Djmh.main=datastructures.StackContentionSweep -Djmh.args="1,4,16 -prof gc"
+public class StackContentionSweep {
+
+    static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    // True if the argument is a list of thread counts rather than a JMH option
+    private static boolean isThreadCounts(String arg) {
+        return arg.matches("\\d+(,\\d+)*");
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        boolean counted = args.length > 0 && isThreadCounts(args[0]);
+        int[] threadCounts = counted
+                ? Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray()
+                : DEFAULT_THREADS;
+        Options jmhArgs = new CommandLineOptions(counted ? Arrays.copyOfRange(args, 1, args.length) : args);
+
+        // Benchmark name to its score at each thread count
+        Map<String, double[]> scores = new TreeMap<>();
+        String unit = "";
+        for (int t = 0; t < threadCounts.length; t++) {
+            Options options = new OptionsBuilder()
+                    .parent(jmhArgs)
+                    .include(StackBenchmark.class.getSimpleName() + "\\.shared")
+                    .threads(threadCounts[t])
+                    .build();
+            for (RunResult result : new Runner(options).run()) {
+                String benchmark = result.getParams().getBenchmark();
+                benchmark = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+                scores.computeIfAbsent(benchmark, name -> new double[threadCounts.length])[t] =
+                        result.getPrimaryResult().getScore();
+                unit = result.getPrimaryResult().getScoreUnit();
+            }
+        }
+
+        StringBuilder table = new StringBuilder(String.format("%-30s", "threads (" + unit + ")"));
+        for (int threads : threadCounts) {
+            table.append(String.format("%12d", threads));
+        }
+        table.append('\n');
+        for (Map.Entry<String, double[]> row : scores.entrySet()) {
+            table.append(String.format("%-30s", row.getKey()));
+            for (double score : row.getValue()) {
+                table.append(String.format("%12.2f", score));
+            }
+            table.append('\n');
+        }
+        System.out.print(table);
+    }
+}
@@ -0,0 +1,111 @@
+package datastructures;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Scans and middle inserts on an UnrolledLinkedList, against a LinkedList and a plain int array
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UnrolledLinkedListBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    int[] values;
+    LinkedList list;
+    UnrolledLinkedList unrolled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceOutput();
+        values = BenchmarkData.values(BenchmarkData.Distribution.RANDOM, size);
+        list = LinkedList.fromArray(values);
+        unrolled = UnrolledLinkedList.fromArray(values);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreOutput();
+    }
+
+    @Benchmark
+    public long arraySum() {
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long linkedListSum() {
+        long sum = 0;
+        for (LinkedList.Node node = list.head; node != null; node = node.next) {
+            sum += node.data;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long unrolledSum() {
+        long sum = 0;
+        for (UnrolledLinkedList.Node node = unrolled.head; node != null; node = node.next) {
+            int[] chunk = node.values;
+            for (int i = 0; i < node.count; i++) {
+                sum += chunk[i];
+            }
+        }
+        return sum;
+    }
+
+    // Inserts in the middle and deletes the value again, so the list is the same for the next call
+    @Benchmark
+    public UnrolledLinkedList unrolledInsertDeleteMiddle() {
+        int middle = unrolled.size / 2;
+        UnrolledLinkedList.insert(unrolled, middle, -1);
+        UnrolledLinkedList.delete(unrolled, middle);
+        return unrolled;
+    }
+
+    // Walking to the middle dominates, the relinking itself is O(1)
+    @Benchmark
+    public LinkedList linkedListInsertDeleteMiddle() {
+        LinkedList.Node node = list.head;
+        for (int i = 1; i < list.size / 2; i++) {
+            node = node.next;
+        }
+        LinkedList.Node inserted = new LinkedList.Node(-1);
+        inserted.next = node.next;
+        node.next = inserted;
+        node.next = inserted.next;
+        return list;
+    }
+
+    // Shifts half of the array up and back down
+    @Benchmark
+    public int[] arrayInsertDeleteMiddle() {
+        int middle = values.length / 2;
+        int last = values[values.length - 1];
+        System.arraycopy(values, middle, values, middle + 1, values.length - middle - 1);
+        values[middle] = -1;
+        System.arraycopy(values, middle + 1, values, middle, values.length - middle - 1);
+        values[values.length - 1] = last;
+        return values;
+    }
+}
@@ -0,0 +1,366 @@
+package datastructures;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/* Saving and loading LinkedList, MyStack<Integer> and BinaryTree in a compact binary file.
+ *
+ * File layout, all numbers little-endian:
+ * A HEADER_BYTES header (magic, version, kind, count), then the payload.
+ * LIST and STACK: the values in order (a stack from the top down), each stored as the difference to the value
+ * before it (the first one to 0), zigzag-encoded so small negative differences are small too, and written as a
+ * varint: 7 bits per byte, the high bit set on every byte but the last. Sorted or slowly changing values take one
+ * byte each, and no value takes more than five.
+ * TREE: a shape bitmap, then the values. The nodes are numbered in preorder and node i has two bits, 2i for "has a
+ * left child" and 2i+1 for "has a right child". That is enough to rebuild the exact shape, so the tree does not have
+ * to be a search tree. The values follow in preorder, encoded like a list.
+ *
+ * Files are written and read through a FileChannel with one direct buffer of BUFFER_BYTES, so the only objects a load
+ * allocates are the nodes of the structure itself, and the nodes are linked as they are read without a second pass.
+ * mapValues maps the file instead and decodes the values one at a time while they are iterated, without building
+ * anything. The file must then stay unchanged while the iterator is in use.
+ */
+
+class BinaryFormat {
+    static final int MAGIC = 0x42534444; // "DDSB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int BUFFER_BYTES = 1 << 20;
+
+    static final int LIST = 1;
+    static final int STACK = 2;
+    static final int TREE = 3;
+
+    // Saves the list, replacing the file if it exists
+    static void write(LinkedList list, Path path) throws IOException {
+        try (FileChannel channel = create(path)) {
+            Writer writer = new Writer(channel);
+            writer.header(LIST, list.size);
+            int previous = 0;
+            int count = 0;
+            for (LinkedList.Node node = list.head; node != null && count < list.size; node = node.next) {
+                writer.varInt(zigzag(node.data - previous));
+                previous = node.data;
+                count++;
+            }
+            writer.flush();
+        }
+    }
+
+    static LinkedList readLinkedList(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Reader reader = new Reader(channel);
+            int count = reader.header(LIST, path);
+            LinkedList list = new LinkedList();
+            if (count == 0) return list;
+            int previous = unzigzag(reader.varInt());
+            LinkedList.Node first = new LinkedList.Node(previous);
+            LinkedList.Node last = first;
+            for (int i = 1; i < count; i++) {
+                previous += unzigzag(reader.varInt());
+                last.next = new LinkedList.Node(previous);
+                last = last.next;
+            }
+            list.head = first;
+            list.tail = last;
+            list.size = count;
+            return list;
+        }
+    }
+
+    // Saves the stack from the top down, replacing the file if it exists
+    static void write(MyStack<Integer> stack, Path path) throws IOException {
+        try (FileChannel channel = create(path)) {
+            Writer writer = new Writer(channel);
+            // The count goes first, so the header is written again once it is known
+            writer.header(STACK, 0);
+            int previous = 0;
+            int count = 0;
+            for (int value : stack) {
+                writer.varInt(zigzag(value - previous));
+                previous = value;
+                count++;
+            }
+            writer.flush();
+            writer.header(STACK, count);
+            writer.flushAt(0);
+        }
+    }
+
+    static MyStack<Integer> readStack(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Reader reader = new Reader(channel);
+            int count = reader.header(STACK, path);
+            return MyStack.fromTopDown(new Iterator<Integer>() {
+                private int remaining = count;
+                private int previous = 0;
+
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                public Integer next() {
+                    if (remaining == 0) throw new NoSuchElementException();
+                    remaining--;
+                    try {
+                        previous += unzigzag(reader.varInt());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return previous;
+                }
+            });
+        }
+    }
+
+    // Saves the shape and the values of the tree, replacing the file if it exists
+    static void write(BinaryTree tree, Path path) throws IOException {
+        int count = TreeTraversal.countNodes(tree.root);
+        byte[] shape = new byte[(int) ((2L * count + 7) / 8)];
+        try (FileChannel channel = create(path)) {
+            // The values go after the bitmap, which is only complete at the end
+            channel.position(HEADER_BYTES + shape.length);
+            Writer writer = new Writer(channel);
+            ArrayDeque<BinaryTree.Node> stack = new ArrayDeque<>();
+            if (tree.root != null) stack.push(tree.root);
+            int previous = 0;
+            int i = 0;
+            while (!stack.isEmpty()) {
+                BinaryTree.Node node = stack.pop();
+                if (node.leftChild != null) shape[(2 * i) >>> 3] |= 1 << ((2 * i) & 7);
+                if (node.rightChild != null) shape[(2 * i + 1) >>> 3] |= 1 << ((2 * i + 1) & 7);
+                writer.varInt(zigzag(node.data - previous));
+                previous = node.data;
+                i++;
+                if (node.rightChild != null) stack.push(node.rightChild);
+                if (node.leftChild != null) stack.push(node.leftChild);
+            }
+            writer.flush();
+            writer.header(TREE, count);
+            writer.flushAt(0);
+            channel.write(ByteBuffer.wrap(shape), HEADER_BYTES);
+        }
+    }
+
+    static BinaryTree readBinaryTree(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Reader reader = new Reader(channel);
+            int count = reader.header(TREE, path);
+            byte[] shape = new byte[(int) ((2L * count + 7) / 8)];
+            reader.bytes(shape);
+            BinaryTree tree = new BinaryTree();
+            // In preorder a node is followed by its left child if it has one, otherwise by the right child of the
+            // nearest node above it that still waits for one
+            ArrayDeque<BinaryTree.Node> waitingForRight = new ArrayDeque<>();
+            BinaryTree.Node previousNode = null;
+            boolean previousHasLeft = false;
+            int previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += unzigzag(reader.varInt());
+                BinaryTree.Node node = new BinaryTree.Node(previous);
+                if (previousNode == null) {
+                    tree.root = node;
+                } else if (previousHasLeft) {
+                    previousNode.leftChild = node;
+                } else {
+                    BinaryTree.Node parent = waitingForRight.poll();
+                    if (parent == null) throw new IOException(path + " has an invalid tree shape");
+                    parent.rightChild = node;
+                }
+                previousHasLeft = (shape[(2 * i) >>> 3] & (1 << ((2 * i) & 7))) != 0;
+                if ((shape[(2 * i + 1) >>> 3] & (1 << ((2 * i + 1) & 7))) != 0) waitingForRight.push(node);
+                previousNode = node;
+            }
+            // Heights, sizes and sums are not stored in the file
+            BinaryTree.recount(tree);
+            return tree;
+        }
+    }
+
+    // Maps the file and returns its values (a tree's in preorder), decoded only as they are iterated
+    static PrimitiveIterator.OfInt mapValues(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException(path + " is too large to map at once");
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException(path + " is not a BinaryFormat file");
+        }
+        int kind = buffer.getInt(8);
+        int count = buffer.getInt(12);
+        buffer.position(HEADER_BYTES + (kind == TREE ? (int) ((2L * count + 7) / 8) : 0));
+        return new PrimitiveIterator.OfInt() {
+            private int remaining = count;
+            private int previous = 0;
+
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            public int nextInt() {
+                if (remaining == 0) throw new NoSuchElementException();
+                remaining--;
+                int result = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = buffer.get();
+                    result |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                previous += unzigzag(result);
+                return previous;
+            }
+        };
+    }
+
+    private static FileChannel create(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    // Maps ints with a small absolute value to small unsigned ints: 0, -1, 1, -2, 2 ... become 0, 1, 2, 3, 4 ...
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // Buffers varints and writes them to the channel a buffer at a time
+    private static final class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void header(int kind, int count) {
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(kind).putInt(count);
+        }
+
+        void varInt(int value) throws IOException {
+            if (buffer.remaining() < 5) flush();
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        // Writes what is buffered at the given position of the file instead of the current one
+        void flushAt(long position) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Reads varints from the channel a buffer at a time
+    private static final class Reader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        Reader(FileChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        // Checks the header and returns the count
+        int header(int kind, Path path) throws IOException {
+            fill(HEADER_BYTES);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException(path + " is not a BinaryFormat file");
+            }
+            int actualKind = buffer.getInt();
+            if (actualKind != kind) {
+                throw new IOException(path + " holds kind " + actualKind + ", expected " + kind);
+            }
+            return buffer.getInt();
+        }
+
+        // Makes sure at least n bytes are buffered, fewer only at the end of the file
+        private boolean fill(int n) throws IOException {
+            if (buffer.remaining() >= n) return true;
+            buffer.compact();
+            while (buffer.position() < n && channel.read(buffer) >= 0) {
+            }
+            buffer.flip();
+            return buffer.remaining() >= n;
+        }
+
+        int varInt() throws IOException {
+            if (!fill(5) && !buffer.hasRemaining()) throw new EOFException();
+            int result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (!buffer.hasRemaining()) throw new EOFException();
+                b = buffer.get();
+                result |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return result;
+        }
+
+        void bytes(byte[] target) throws IOException {
+            int offset = 0;
+            while (offset < target.length) {
+                if (!fill(1)) throw new EOFException();
+                int n = Math.min(buffer.remaining(), target.length - offset);
+                buffer.get(target, offset, n);
+                offset += n;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Paths.get(args[0]) : Paths.get("list.bin");
+        int[] values = new int[10_000_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 3;
+        }
+        LinkedList list = LinkedList.fromArray(values);
+        long start = System.nanoTime();
+        write(list, path);
+        long written = System.nanoTime();
+        LinkedList loaded = readLinkedList(path);
+        long read = System.nanoTime();
+        System.out.println("Wrote " + list.size + " values in " + (written - start) / 1_000_000 + " ms, "
+                + Files.size(path) + " bytes");
+        System.out.println("Read " + loaded.size + " values in " + (read - written) / 1_000_000 + " ms");
+
+        long sum = 0;
+        for (PrimitiveIterator.OfInt it = mapValues(path); it.hasNext(); ) {
+            sum += it.nextInt();
+        }
+        System.out.println("Sum from the mapped file: " + sum);
+    }
+}
@@ -0,0 +1,623 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/* Why use Trees?
+ *  Trees are useful to store information that naturally occurs as a hierarchy. A file system on a computer can be represented well by a tree.
+ *  Binary search trees improve upon search time compared to Linked Lists, but it is still slower than the indexed array.
+ *  They provide better insertion/deletion run times compared to arrays, but worse compared to Linked Lists.
+ *  Similar to Linked Lists, the number of nodes do not have a limit. Arrays must copy themselves over to accommodate more elements. 
+ *  Use trees to:
+ *  Handle hierarchal data, make information easy to search, modify sorted lists of data, and form decision-making maps.
+ * 
+ *  Characteristics:
+ *  The maximum number of nodes at level j of a binary tree is 2^j
+ *  The maximum number of nodes in a binary tree if height h is at most 2^h-1
+ *  In a binary tree with N nodes, the minimum number of levels is Log(N+1)
+ *  A binary tree with n leaves has at least | Log(n) | + 1
+ *  Binary trees with nodes with only 0 or 2 children have a total of leaves equal to the number of nodes with 2 children + 1
+ *  In a non empty binary tree, if n is the total number of nodes and e is the total number of edges, then e = n-1
+ * 
+ *  See also:
+ *  Full binary tree, complete binary tree, perfect binary tree, degenerate binary tree, skewed binary tree, balanced binary tree
+ *  
+ *  This class has the most basic binary tree.
+ * 
+ */
+
+
+ 
+
+class BinaryTree implements Iterable<Integer> {
+    Node root;
+    // True while the height, size and sum of every node are known to be up to date: set when insert starts from an
+    // empty tree, by fromSorted and by recount, cleared by appendNode. Trees wired by hand never have it.
+    boolean counted;
+
+    // Operation metrics, see Metrics. Nothing is recorded unless metrics are enabled.
+    // For insert, delete and appendNode the nodes traversed are the depth the recursion reaches.
+    private static final Metrics.Operation APPEND_NODE = Metrics.operation("BinaryTree", "appendNode");
+    private static final Metrics.Operation CONTAINS = Metrics.operation("BinaryTree", "contains");
+    private static final Metrics.Operation INSERT = Metrics.operation("BinaryTree", "insert");
+    private static final Metrics.Operation DELETE = Metrics.operation("BinaryTree", "delete");
+
+    BinaryTree(Node node) {
+        root = node;
+    }
+
+    BinaryTree() {
+
+    }
+
+    // Iterates over the values in in-order without boxing them and without changing the tree, see TreeSpliterator
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    public Spliterator.OfInt spliterator() {
+        return new TreeSpliterator(root, counted);
+    }
+
+    // The values in in-order as an IntStream, call parallel() on it to split the work at subtrees
+    static IntStream stream(BinaryTree tree) {
+        return StreamSupport.intStream(tree.spliterator(), false);
+    }
+
+    // Helper function for traversal methods
+    // This function takes input from the user for what type of traversal they want 
+
+    static void traversalHelper(BinaryTree tree, String mode) {
+        TreeTraversal.Mode traversalMode;
+        try {
+            traversalMode = TreeTraversal.Mode.fromName(mode);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Please choose out of the three modes of traversal: preorder, inorder, or postorder");
+            return;
+        }
+        traversalHelper(tree, traversalMode);
+    }
+
+    // Prints the tree in the given order using the iterative traversals, so deep trees do not overflow the stack
+    static void traversalHelper(BinaryTree tree, TreeTraversal.Mode mode) {
+        if (tree.root == null) {
+            System.out.print("The tree is empty.");
+            return;
+        }
+        StringBuilder line = new StringBuilder();
+        TreeTraversal.traverse(tree, mode, value -> {
+            line.append(value).append(' ');
+            return true;
+        });
+        System.out.println(line);
+    }
+
+
+    static void preOrderTraversalRecursion(Node root) {
+        if (root == null) return;
+        System.out.print(root.data + " ");
+        preOrderTraversalRecursion(root.leftChild);
+        preOrderTraversalRecursion(root.rightChild);
+    }
+
+    static void inOrderTraversalRecursion(Node root) {
+        if (root == null) return;
+        inOrderTraversalRecursion(root.leftChild);
+        System.out.print(root.data + " ");
+        inOrderTraversalRecursion(root.rightChild);
+    }
+
+    static void postOrderTraversalRecursion(Node root) {
+        if (root == null) return;
+        postOrderTraversalRecursion(root.leftChild);
+        postOrderTraversalRecursion(root.rightChild);
+        System.out.print(root.data + " ");
+    }
+
+    // Appends a node where a binary search tree would put it, without rebalancing
+    // Use insert for a tree that has to stay balanced
+    static void appendNode(BinaryTree tree, Node newNode) {
+        long start = Metrics.start();
+        tree.counted = false;
+        if (tree.root == null) {
+            tree.root = newNode;
+            APPEND_NODE.record(start, 0);
+            return;
+        }
+        int depth = recursiveAppendNode(tree.root, newNode);
+        APPEND_NODE.record(start, depth);
+    }
+
+    // Returns the recursion depth, the number of nodes passed on the way down
+    static int recursiveAppendNode(Node root, Node newNode) {
+        // Base cases, the new node goes into an empty child
+        if (newNode.data > root.data && root.rightChild == null) {
+            root.rightChild = newNode;
+            return 1;
+        } else if (newNode.data <= root.data && root.leftChild == null) {
+            root.leftChild = newNode;
+            return 1;
+        // Recursive Case
+        } else if (newNode.data > root.data) {
+            return 1 + recursiveAppendNode(root.rightChild, newNode);
+        } else {
+            return 1 + recursiveAppendNode(root.leftChild, newNode);
+        }
+    }
+
+    /* Balanced search tree (AVL)
+     * The methods below keep the tree a binary search tree of distinct keys whose subtrees differ in height by at
+     * most one at every node. After each insert or delete the nodes on the path back to the root are rebalanced with
+     * rotations, so the height stays below 1.44 * Log(n+2) and every operation is O(Log n), even for sorted input.
+     * Every node keeps the height of its subtree for this. Do not mix them with appendNode or hand-wired children
+     * without calling recount first.
+     */
+
+    // Height of the subtree, an empty subtree has height 0
+    static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    // Checks if the key is in the tree
+    static boolean contains(BinaryTree tree, int key) {
+        long start = Metrics.start();
+        int path = searchPath(tree.root, key);
+        if (path > 0) {
+            CONTAINS.record(start, path);
+        } else {
+            CONTAINS.fail(start, -path);
+        }
+        return path > 0;
+    }
+
+    // Number of nodes on the search path to the key, as a negative number when the key is not in the tree
+    private static int searchPath(Node node, int key) {
+        int visited = 0;
+        while (node != null) {
+            visited++;
+            if (key < node.data) {
+                node = node.leftChild;
+            } else if (key > node.data) {
+                node = node.rightChild;
+            } else {
+                return visited;
+            }
+        }
+        return -visited;
+    }
+
+    // Inserts the key and rebalances, returns false if the key was already in the tree
+    static boolean insert(BinaryTree tree, int key) {
+        long start = Metrics.start();
+        int path = searchPath(tree.root, key);
+        if (path > 0) {
+            INSERT.fail(start, path);
+            return false;
+        }
+        if (tree.root == null) tree.counted = true;
+        tree.root = insert(tree.root, key);
+        INSERT.record(start, -path, 1);
+        return true;
+    }
+
+    private static Node insert(Node root, int key) {
+        if (root == null) return new Node(key);
+        if (key < root.data) {
+            root.leftChild = insert(root.leftChild, key);
+        } else {
+            root.rightChild = insert(root.rightChild, key);
+        }
+        return rebalance(root);
+    }
+
+    // Deletes the key and rebalances, returns false if the key was not in the tree
+    static boolean delete(BinaryTree tree, int key) {
+        long start = Metrics.start();
+        int path = searchPath(tree.root, key);
+        if (path <= 0) {
+            DELETE.fail(start, -path);
+            return false;
+        }
+        tree.root = delete(tree.root, key);
+        DELETE.record(start, path);
+        return true;
+    }
+
+    private static Node delete(Node root, int key) {
+        if (key < root.data) {
+            root.leftChild = delete(root.leftChild, key);
+        } else if (key > root.data) {
+            root.rightChild = delete(root.rightChild, key);
+        } else if (root.leftChild == null) {
+            return root.rightChild;
+        } else if (root.rightChild == null) {
+            return root.leftChild;
+        } else {
+            // Two children: replace the key with the smallest key of the right subtree and delete that one instead
+            Node successor = root.rightChild;
+            while (successor.leftChild != null) {
+                successor = successor.leftChild;
+            }
+            root.data = successor.data;
+            root.rightChild = delete(root.rightChild, successor.data);
+        }
+        return rebalance(root);
+    }
+
+    /* Order statistics
+     * Every node also keeps the number of nodes and the sum of the keys in its subtree, updated together with the
+     * height on the way back up from an insert or delete and in every rotation. A search can then add up whole left
+     * subtrees instead of visiting them, so rank, select and range counts and sums walk one path from the root and
+     * are O(Log n) like contains.
+     */
+
+    // Number of nodes in the subtree, 0 for an empty subtree
+    static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // Sum of the keys in the subtree, 0 for an empty subtree
+    static long sum(Node node) {
+        return node == null ? 0 : node.sum;
+    }
+
+    // Returns the node with the kth smallest key, k = 0 is the smallest, so select(tree, rank(tree, key)) finds key
+    static Node select(BinaryTree tree, int k) {
+        if (k < 0 || k >= size(tree.root)) {
+            throw new IndexOutOfBoundsException("k = " + k + ", size = " + size(tree.root));
+        }
+        Node node = tree.root;
+        while (true) {
+            int left = size(node.leftChild);
+            if (k < left) {
+                node = node.leftChild;
+            } else if (k > left) {
+                k -= left + 1;
+                node = node.rightChild;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    // Returns the node with the kth largest key, k = 1 is the largest, like LinkedList's kthToLastElement
+    static Node kthToLastElement(BinaryTree tree, int k) {
+        int size = size(tree.root);
+        if (k < 1 || k > size) {
+            throw new IndexOutOfBoundsException("k = " + k + ", size = " + size);
+        }
+        return select(tree, size - k);
+    }
+
+    // Number of keys less than key, whether or not key is in the tree
+    static int rank(BinaryTree tree, int key) {
+        return (int) countBelow(tree.root, key, false);
+    }
+
+    // Number of keys in [low, high], 0 if low > high
+    static int countInRange(BinaryTree tree, int low, int high) {
+        if (low > high) return 0;
+        return (int) (countBelow(tree.root, high, true) - countBelow(tree.root, low, false));
+    }
+
+    // Sum of the keys in [low, high], 0 if low > high
+    static long sumInRange(BinaryTree tree, int low, int high) {
+        if (low > high) return 0;
+        return sumBelow(tree.root, high, true) - sumBelow(tree.root, low, false);
+    }
+
+    // Number of keys less than key, or less than or equal to it if inclusive
+    private static long countBelow(Node node, int key, boolean inclusive) {
+        long count = 0;
+        while (node != null) {
+            if (key < node.data || (key == node.data && !inclusive)) {
+                node = node.leftChild;
+            } else {
+                count += size(node.leftChild) + 1;
+                node = node.rightChild;
+            }
+        }
+        return count;
+    }
+
+    // Sum of the keys less than key, or less than or equal to it if inclusive
+    private static long sumBelow(Node node, int key, boolean inclusive) {
+        long sum = 0;
+        while (node != null) {
+            if (key < node.data || (key == node.data && !inclusive)) {
+                node = node.leftChild;
+            } else {
+                sum += sum(node.leftChild) + node.data;
+                node = node.rightChild;
+            }
+        }
+        return sum;
+    }
+
+    // Recomputes height, size and sum of every node, bottom up without recursion
+    // Needed before the balanced and order statistic methods are used on a tree that was wired by hand or read back
+    // with BinaryFormat
+    static void recount(BinaryTree tree) {
+        tree.counted = true;
+        if (tree.root == null) return;
+        // Every node comes after its parent in this list, so going through it backwards updates children first
+        ArrayList<Node> nodes = new ArrayList<>();
+        nodes.add(tree.root);
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (node.leftChild != null) nodes.add(node.leftChild);
+            if (node.rightChild != null) nodes.add(node.rightChild);
+        }
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            update(nodes.get(i));
+        }
+    }
+
+    /* Bulk loading
+     * Inserting n sorted keys one at a time costs O(n Log n) and a rotation now and then. When the keys are already
+     * sorted, the balanced tree can be built directly: the middle key becomes the root and the two halves become its
+     * subtrees. Building the left subtree first takes the keys in increasing order, so they can be read straight from
+     * an iterator and every key is touched once, O(n). Height, size and sum are set on the way, and the result is a
+     * valid AVL tree for insert and delete.
+     */
+
+    // Builds a balanced tree from keys in strictly increasing order, O(n)
+    static BinaryTree fromSorted(int[] sorted) {
+        return fromSorted(Spliterators.iterator(Spliterators.spliterator(sorted, 0)), sorted.length);
+    }
+
+    // Builds a balanced tree from a list sorted in strictly increasing order, without copying it to an array
+    static BinaryTree fromSorted(LinkedList list) {
+        return fromSorted(list.iterator(), list.size);
+    }
+
+    // Builds a balanced tree from a stream of keys in strictly increasing order, the stream is collected first since
+    // its length is not known
+    static BinaryTree fromSorted(IntStream sorted) {
+        return fromSorted(sorted.toArray());
+    }
+
+    private static BinaryTree fromSorted(PrimitiveIterator.OfInt values, int count) {
+        SortedBuilder builder = new SortedBuilder(values);
+        BinaryTree tree = new BinaryTree(builder.build(count));
+        tree.counted = true;
+        if (values.hasNext()) {
+            throw new IllegalArgumentException("There are more than " + count + " values");
+        }
+        return tree;
+    }
+
+    // Builds the subtrees in in-order, taking each key from the iterator when its node is created
+    private static final class SortedBuilder {
+        private final PrimitiveIterator.OfInt values;
+        private long previous = Long.MIN_VALUE;
+
+        SortedBuilder(PrimitiveIterator.OfInt values) {
+            this.values = values;
+        }
+
+        Node build(int count) {
+            if (count == 0) return null;
+            int leftCount = (count - 1) / 2;
+            Node left = build(leftCount);
+            if (!values.hasNext()) throw new IllegalArgumentException("There are fewer values than expected");
+            int key = values.nextInt();
+            if (key <= previous) {
+                throw new IllegalArgumentException("The values are not in strictly increasing order at " + key);
+            }
+            previous = key;
+            Node node = new Node(key, left, build(count - 1 - leftCount));
+            update(node);
+            return node;
+        }
+    }
+
+    // A new balanced tree with the keys of both trees, keys in both are kept once, O(n + m)
+    // Both trees are flattened in order and left unchanged
+    static BinaryTree merge(BinaryTree first, BinaryTree second) {
+        int[] a = TreeTraversal.toArray(first.root, TreeTraversal.Mode.INORDER);
+        int[] b = TreeTraversal.toArray(second.root, TreeTraversal.Mode.INORDER);
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length || j < b.length) {
+            int key;
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                key = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                key = b[j++];
+            } else {
+                key = a[i++];
+                j++;
+            }
+            if (count > 0 && key <= merged[count - 1]) {
+                throw new IllegalArgumentException("The trees are not binary search trees of distinct keys");
+            }
+            merged[count++] = key;
+        }
+        return fromSorted(Spliterators.iterator(Spliterators.spliterator(merged, 0, count, 0)), count);
+    }
+
+    // Returns the node with the largest key less than or equal to key, or null
+    static Node floor(BinaryTree tree, int key) {
+        Node node = tree.root;
+        Node best = null;
+        while (node != null) {
+            if (key < node.data) {
+                node = node.leftChild;
+            } else if (key > node.data) {
+                best = node;
+                node = node.rightChild;
+            } else {
+                return node;
+            }
+        }
+        return best;
+    }
+
+    // Returns the node with the smallest key greater than or equal to key, or null
+    static Node ceiling(BinaryTree tree, int key) {
+        Node node = tree.root;
+        Node best = null;
+        while (node != null) {
+            if (key > node.data) {
+                node = node.rightChild;
+            } else if (key < node.data) {
+                best = node;
+                node = node.leftChild;
+            } else {
+                return node;
+            }
+        }
+        return best;
+    }
+
+    // Returns the node with the smallest key, or null if the tree is empty
+    static Node min(BinaryTree tree) {
+        Node node = tree.root;
+        if (node == null) return null;
+        while (node.leftChild != null) {
+            node = node.leftChild;
+        }
+        return node;
+    }
+
+    // Returns the node with the largest key, or null if the tree is empty
+    static Node max(BinaryTree tree) {
+        Node node = tree.root;
+        if (node == null) return null;
+        while (node.rightChild != null) {
+            node = node.rightChild;
+        }
+        return node;
+    }
+
+    // Recomputes height, size and sum of node from its children
+    private static void update(Node node) {
+        Node left = node.leftChild;
+        Node right = node.rightChild;
+        node.height = 1 + Math.max(height(left), height(right));
+        node.size = 1 + size(left) + size(right);
+        node.sum = node.data + sum(left) + sum(right);
+    }
+
+    // Restores the AVL property at node after one of its subtrees changed height by one
+    // Returns the root of the rebalanced subtree
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.leftChild) - height(node.rightChild);
+        if (balance > 1) {
+            if (height(node.leftChild.leftChild) < height(node.leftChild.rightChild)) {
+                node.leftChild = rotateLeft(node.leftChild); // Left-right case
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.rightChild.rightChild) < height(node.rightChild.leftChild)) {
+                node.rightChild = rotateRight(node.rightChild); // Right-left case
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.leftChild;
+        node.leftChild = left.rightChild;
+        left.rightChild = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.rightChild;
+        node.rightChild = right.leftChild;
+        right.leftChild = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+
+
+    static class Node {
+        int data;
+        Node leftChild;
+        Node rightChild;
+        // Height, number of nodes and sum of the keys of the subtree rooted here,
+        // only maintained by the balanced insert and delete, see recount for other trees
+        int height = 1;
+        int size = 1;
+        long sum;
+
+        Node(int n, Node left, Node right) {
+            data = n;
+            sum = n;
+            leftChild = left;
+            rightChild = right;
+        }
+
+        Node(int n) {
+            data = n;
+            sum = n;
+        }
+
+        Node() {
+
+        }
+
+        
+    }
+
+    public static void main(String[] args) {
+        Node root = new Node(0);
+        BinaryTree tree = new BinaryTree(root);
+        Node node1 = new Node(1);
+        Node node2 = new Node(2);
+        Node node3 = new Node(3);
+        Node node4 = new Node(4);
+        Node node5 = new Node(5);
+        Node node6 = new Node(6);
+        root.leftChild = node1;
+        root.rightChild = node2;
+        node2.leftChild = node3;
+        node2.rightChild = node4;
+        node1.leftChild = node5;
+        node1.rightChild = node6;
+        traversalHelper(tree, "preorder");
+        traversalHelper(tree, "inorder");
+        traversalHelper(tree, "postorder");
+        System.out.println();
+
+        // Sorted input stays balanced
+        BinaryTree balanced = new BinaryTree();
+        for (int i = 1; i <= 1000; i++) {
+            insert(balanced, i);
+        }
+        delete(balanced, 500);
+        System.out.println("Height: " + height(balanced.root));
+        System.out.println("Floor of 500: " + floor(balanced, 500).data + ", ceiling of 500: " + ceiling(balanced, 500).data);
+        System.out.println("Min: " + min(balanced).data + ", max: " + max(balanced).data);
+        System.out.println("100th smallest: " + select(balanced, 99).data + ", 3rd largest: "
+                + kthToLastElement(balanced, 3).data + ", rank of 700: " + rank(balanced, 700));
+        System.out.println("Keys in [250, 750]: " + countInRange(balanced, 250, 750)
+                + ", their sum: " + sumInRange(balanced, 250, 750));
+
+        // Bulk loading sorted keys and merging two trees, both O(n)
+        BinaryTree evens = fromSorted(IntStream.range(0, 1_000_000).map(i -> 2 * i));
+        BinaryTree merged = merge(evens, balanced);
+        System.out.println("Merged " + size(evens.root) + " and " + size(balanced.root) + " keys into "
+                + size(merged.root) + ", height " + height(merged.root));
+
+
+
+    }
+    
+
+}
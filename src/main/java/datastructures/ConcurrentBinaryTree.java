@@ -0,0 +1,439 @@
+package datastructures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* A binary search tree of ints that many threads can search and update at the same time.
+ * The keys are in the leaves and the inner nodes only route searches (a leaf-oriented or external tree): a search
+ * goes left if key < node.key and right otherwise until it reaches a leaf. That keeps every update local. An insert
+ * replaces one leaf by a new inner node with two leaves, and a delete replaces the parent of a leaf by the leaf's
+ * sibling. Nodes are never changed in any other way, and a removed node keeps its children, so a search that is
+ * still inside a removed part of the tree still finds its way down.
+ *
+ * Optimistic lock coupling: every inner node has a version word. The lowest bit means locked, the next one that the
+ * node was removed from the tree (obsolete), and the rest counts the changes. Searches only read: they remember the
+ * version of the last inner node before reading its child, and at the leaf check that the version did not change.
+ * If it did, the search starts again. Readers never write to shared memory, so they do not slow each other down.
+ * An insert locks only the parent of the leaf and a delete only the parent and the grandparent, by changing the
+ * version they read on the way down into a locked one with compareAndSet. The compareAndSet fails if anything
+ * changed since then, and the update starts again instead of waiting, so threads can never deadlock.
+ *
+ * The tree does not rebalance. Keys in random order give it a depth of O(Log n) on average, like appendNode, but
+ * sorted keys make it a list. Keys are stored as longs so the sentinels can sit above the int range, like in
+ * ConcurrentIntSkipList. The algorithm follows the leaf-oriented trees of Ellen, Fatourou, Ruppert and van Breugel,
+ * with the version locks of Leis, Scheibner, Kemper and Neumann, "The ART of Practical Synchronization".
+ */
+
+class ConcurrentBinaryTree {
+    private static final long LOCKED = 1;
+    private static final long OBSOLETE = 2;
+    private static final long CHANGE = 4;
+
+    private static final long INFINITY1 = Long.MAX_VALUE - 1;
+    private static final long INFINITY2 = Long.MAX_VALUE;
+
+    private static final VarHandle VERSION;
+
+    static {
+        try {
+            VERSION = MethodHandles.lookup().findVarHandle(Node.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class Node {
+        final long key;
+        // Both null in a leaf, never null in an inner node
+        volatile Node leftChild;
+        volatile Node rightChild;
+        volatile long version;
+
+        Node(long key) {
+            this.key = key;
+        }
+
+        Node(long key, Node leftChild, Node rightChild) {
+            this.key = key;
+            this.leftChild = leftChild;
+            this.rightChild = rightChild;
+        }
+
+        boolean isLeaf() {
+            return leftChild == null;
+        }
+
+        Node child(long searchKey) {
+            return searchKey < key ? leftChild : rightChild;
+        }
+    }
+
+    // Two sentinel leaves above every int, so every real leaf has a parent and a grandparent
+    private final Node root = new Node(INFINITY2, new Node(INFINITY1), new Node(INFINITY2));
+
+    ConcurrentBinaryTree() {
+    }
+
+    // Waits while the node is locked and returns its version, or -1 if the node has been removed
+    private static long readVersion(Node node) {
+        long version = node.version;
+        while ((version & LOCKED) != 0) {
+            Thread.onSpinWait();
+            version = node.version;
+        }
+        return (version & OBSOLETE) != 0 ? -1 : version;
+    }
+
+    private static boolean tryLock(Node node, long version) {
+        return VERSION.compareAndSet(node, version, version | LOCKED);
+    }
+
+    // Unlocks and counts a change
+    private static void unlock(Node node) {
+        node.version += CHANGE - LOCKED;
+    }
+
+    // Unlocks and marks the node as removed
+    private static void unlockObsolete(Node node) {
+        node.version += CHANGE - LOCKED + OBSOLETE;
+    }
+
+    // Unlocks without a change, readers that saw the old version stay valid
+    private static void unlockUnchanged(Node node, long version) {
+        node.version = version;
+    }
+
+    // The path to the leaf for key, with the versions read just before each child pointer
+    private static final class Path {
+        Node grandparent;
+        long grandparentVersion;
+        Node parent;
+        long parentVersion;
+        Node leaf;
+    }
+
+    // Walks down to the leaf for key, returns false if it ran into a removed node and has to start again
+    private boolean search(long key, Path path) {
+        Node grandparent = null;
+        long grandparentVersion = 0;
+        Node parent = root;
+        long parentVersion = readVersion(root);
+        Node node = parent.child(key);
+        while (!node.isLeaf()) {
+            grandparent = parent;
+            grandparentVersion = parentVersion;
+            parent = node;
+            parentVersion = readVersion(node);
+            if (parentVersion < 0) return false;
+            node = parent.child(key);
+        }
+        path.grandparent = grandparent;
+        path.grandparentVersion = grandparentVersion;
+        path.parent = parent;
+        path.parentVersion = parentVersion;
+        path.leaf = node;
+        return true;
+    }
+
+    // Checks if the key is in the tree, takes no locks
+    boolean contains(int key) {
+        while (true) {
+            Node parent = root;
+            long parentVersion = readVersion(root);
+            Node node = parent.child(key);
+            while (!node.isLeaf()) {
+                parent = node;
+                parentVersion = readVersion(node);
+                if (parentVersion < 0) break;
+                node = parent.child(key);
+            }
+            // The leaf was a child of the parent, and the parent in the tree, as long as its version is unchanged
+            if (node.isLeaf() && parent.version == parentVersion) return node.key == key;
+        }
+    }
+
+    // Inserts the key, returns false if it was already in the tree
+    boolean insert(int key) {
+        Path path = new Path();
+        while (true) {
+            if (!search(key, path)) continue;
+            Node parent = path.parent;
+            Node leaf = path.leaf;
+            if (leaf.key == key) {
+                if (parent.version == path.parentVersion) return false;
+                continue;
+            }
+            Node newLeaf = new Node(key);
+            Node inner = key < leaf.key
+                    ? new Node(leaf.key, newLeaf, leaf)
+                    : new Node(key, leaf, newLeaf);
+            if (!tryLock(parent, path.parentVersion)) continue;
+            if (key < parent.key) {
+                parent.leftChild = inner;
+            } else {
+                parent.rightChild = inner;
+            }
+            unlock(parent);
+            return true;
+        }
+    }
+
+    // Deletes the key, returns false if it was not in the tree
+    boolean delete(int key) {
+        Path path = new Path();
+        while (true) {
+            if (!search(key, path)) continue;
+            Node grandparent = path.grandparent;
+            Node parent = path.parent;
+            Node leaf = path.leaf;
+            if (leaf.key != key) {
+                if (parent.version == path.parentVersion) return false;
+                continue;
+            }
+            // Locked top down, and a failed tryLock gives up every lock, so two deletes cannot wait on each other
+            if (!tryLock(grandparent, path.grandparentVersion)) continue;
+            if (!tryLock(parent, path.parentVersion)) {
+                unlockUnchanged(grandparent, path.grandparentVersion);
+                continue;
+            }
+            Node sibling = key < parent.key ? parent.rightChild : parent.leftChild;
+            if (key < grandparent.key) {
+                grandparent.leftChild = sibling;
+            } else {
+                grandparent.rightChild = sibling;
+            }
+            unlockObsolete(parent);
+            unlock(grandparent);
+            return true;
+        }
+    }
+
+    // Visits the keys in increasing order, returns false if the visitor stopped early
+    // Like ConcurrentIntSkipList.range it is weakly consistent: keys inserted or deleted during the walk may or may not
+    // be seen, every other key is seen exactly once
+    boolean inOrder(TreeTraversal.IntVisitor visitor) {
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(root.leftChild);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node.isLeaf()) {
+                if (node.key < INFINITY1 && !visitor.visit((int) node.key)) return false;
+            } else {
+                Node left = node.leftChild;
+                stack.push(node.rightChild);
+                stack.push(left);
+            }
+        }
+        return true;
+    }
+
+    // Number of keys, counted by a weakly consistent walk, O(n)
+    int size() {
+        int[] count = new int[1];
+        inOrder(key -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /* Linearizability check
+     * A few threads run short rounds of operations on two hot keys and record every call: its kind, key, result and
+     * the nanoTime right before the call and right after it returned. Operations on different keys of a set do not
+     * affect each other, so the history of each key can be checked on its own. It is linearizable if its operations
+     * can be put in one order that keeps real time (a call that returned before another one was made comes first)
+     * and in which every result is what a sequential set would have answered. checkHistory searches for that order
+     * like Wing and Gong: at each step it tries every operation that no unplaced operation has to come before, and it
+     * remembers the (placed operations, key present) states it already gave up on, so short histories are cheap.
+     * A contains that answers from a stale version, or an insert that succeeds on a key a finished insert already
+     * added, has no such order and is reported.
+     */
+
+    private static final int CONTAINS = 0;
+    private static final int INSERT = 1;
+    private static final int DELETE = 2;
+
+    // One recorded call of contains, insert or delete
+    private static final class Operation {
+        final int kind;
+        final int key;
+        final boolean result;
+        final long invoked;
+        final long returned;
+
+        Operation(int kind, int key, boolean result, long invoked, long returned) {
+            this.kind = kind;
+            this.key = key;
+            this.result = result;
+            this.invoked = invoked;
+            this.returned = returned;
+        }
+    }
+
+    // Runs the rounds and returns the number of key histories that are not linearizable
+    private static int checkLinearizability(int rounds) throws InterruptedException, BrokenBarrierException {
+        int threads = 4;
+        int perThread = 8; // At most 32 operations on one key per round, so the placed operations fit in a long
+        int[] hotKeys = {10, 11};
+        ConcurrentBinaryTree tree = new ConcurrentBinaryTree();
+        // Keys around the hot ones, so their inserts and deletes lock the same parents
+        for (int key = 0; key < 32; key += 3) {
+            tree.insert(key);
+        }
+        Operation[][] recorded = new Operation[threads][perThread];
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        CyclicBarrier done = new CyclicBarrier(threads + 1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            Operation[] history = recorded[t];
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    for (int round = 0; round < rounds; round++) {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            int key = hotKeys[random.nextInt(hotKeys.length)];
+                            int kind = random.nextInt(3);
+                            long invoked = System.nanoTime();
+                            boolean result = kind == CONTAINS ? tree.contains(key)
+                                    : kind == INSERT ? tree.insert(key) : tree.delete(key);
+                            history[i] = new Operation(kind, key, result, invoked, System.nanoTime());
+                        }
+                        done.await();
+                    }
+                } catch (InterruptedException | BrokenBarrierException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            workers[t].start();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int violations = 0;
+        for (int round = 0; round < rounds; round++) {
+            boolean[] present = new boolean[hotKeys.length];
+            for (int k = 0; k < hotKeys.length; k++) {
+                // The workers wait at the barrier, so the key is set up without any other thread around
+                if (random.nextBoolean()) {
+                    tree.insert(hotKeys[k]);
+                } else {
+                    tree.delete(hotKeys[k]);
+                }
+                present[k] = tree.contains(hotKeys[k]);
+            }
+            start.await();
+            done.await();
+            for (int k = 0; k < hotKeys.length; k++) {
+                ArrayList<Operation> ops = new ArrayList<>();
+                for (Operation[] history : recorded) {
+                    for (Operation op : history) {
+                        if (op.key == hotKeys[k]) ops.add(op);
+                    }
+                }
+                if (!checkHistory(ops.toArray(new Operation[0]), 0L, present[k], new HashSet<>())) violations++;
+            }
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return violations;
+    }
+
+    // Checks if the operations not in placed can follow the placed ones, starting from a set where the key is
+    // present or not
+    private static boolean checkHistory(Operation[] ops, long placed, boolean present, HashSet<Long> failed) {
+        if (placed == (1L << ops.length) - 1) return true;
+        long state = placed << 1 | (present ? 1 : 0);
+        if (failed.contains(state)) return false;
+        for (int i = 0; i < ops.length; i++) {
+            if ((placed & 1L << i) != 0) continue;
+            Operation op = ops[i];
+            boolean first = true;
+            for (int j = 0; j < ops.length && first; j++) {
+                if ((placed & 1L << j) == 0 && ops[j].returned < op.invoked) first = false;
+            }
+            if (!first) continue;
+            boolean expected = op.kind == INSERT ? !present : present;
+            if (op.result != expected) continue;
+            boolean next = op.kind == CONTAINS ? present : op.kind == INSERT;
+            if (checkHistory(ops, placed | 1L << i, next, failed)) return true;
+        }
+        failed.add(state);
+        return false;
+    }
+
+    /* Stress test
+     * Threads insert, delete and look up keys from a small range, so the same leaves and parents are fought over all
+     * the time. Every thread counts its successful inserts and deletes of each key. In a linearizable set the
+     * successful inserts and deletes of a key alternate, starting with an insert, so at the end the inserts minus the
+     * deletes must be 1 for a key in the tree and 0 for any other. The even keys below the range are inserted first
+     * and never touched again, so every contains on them must be true while the other threads run.
+     * Then the recorded histories of the linearizability check above must all be linearizable.
+     */
+    public static void main(String[] args) throws InterruptedException, BrokenBarrierException {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int keys = 64;
+        int operations = 200_000;
+        ConcurrentBinaryTree tree = new ConcurrentBinaryTree();
+        for (int key = -2 * keys; key < 0; key += 2) {
+            tree.insert(key);
+        }
+        long[][] balance = new long[threads][keys];
+        AtomicLong errors = new AtomicLong();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long[] counts = balance[t];
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operations; i++) {
+                    int key = random.nextInt(keys);
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            if (tree.insert(key)) counts[key]++;
+                            break;
+                        case 1:
+                            if (tree.delete(key)) counts[key]--;
+                            break;
+                        default:
+                            int stable = -2 * (1 + random.nextInt(keys));
+                            if (!tree.contains(stable) || tree.contains(stable + 1)) errors.incrementAndGet();
+                            tree.contains(key);
+                            break;
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        for (int key = 0; key < keys; key++) {
+            long inserted = 0;
+            for (long[] counts : balance) {
+                inserted += counts[key];
+            }
+            if (inserted != (tree.contains(key) ? 1 : 0)) errors.incrementAndGet();
+        }
+        long[] previous = {Long.MIN_VALUE};
+        tree.inOrder(key -> {
+            if (key <= previous[0]) errors.incrementAndGet();
+            previous[0] = key;
+            return true;
+        });
+        System.out.println(threads + " threads, " + tree.size() + " keys left, " + errors.get() + " errors");
+        if (errors.get() != 0) throw new AssertionError("The tree lost or duplicated keys");
+
+        int rounds = 20_000;
+        int violations = checkLinearizability(rounds);
+        System.out.println(rounds + " rounds of recorded histories, " + violations + " not linearizable");
+        if (violations != 0) throw new AssertionError("A history of the tree is not linearizable");
+    }
+}
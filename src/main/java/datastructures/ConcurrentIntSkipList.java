@@ -0,0 +1,270 @@
+package datastructures;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/* A sorted set of ints that many threads can use at the same time without locks, built like SkipListIndex.
+ * Every node has a tower of next references, one per level. A next reference carries a mark bit: a node is
+ * deleted by first marking the references in its tower (logical delete) and then unlinking it (physical delete).
+ * Any thread that runs into a marked node while searching unlinks it with compareAndSet, so a delete that was
+ * interrupted is finished by whoever comes next.
+ *
+ * contains never writes and never retries: it just skips marked nodes, so readers do not slow each other or the
+ * writers down. add and remove retry their compareAndSet when another writer changed the same place.
+ *
+ * The design is the lock-free skip list from Herlihy and Shavit, "The Art of Multiprocessor Programming".
+ * Keys are stored as longs so the head and tail sentinels can sit outside the int range.
+ */
+
+class ConcurrentIntSkipList {
+    static final int MAX_LEVEL = 16;
+
+    private static class Node {
+        final long key;
+        final int topLevel;
+        final AtomicMarkableReference<Node>[] next;
+
+        @SuppressWarnings("unchecked")
+        Node(long key, int topLevel) {
+            this.key = key;
+            this.topLevel = topLevel;
+            next = (AtomicMarkableReference<Node>[]) new AtomicMarkableReference<?>[topLevel + 1];
+            for (int i = 0; i <= topLevel; i++) {
+                next[i] = new AtomicMarkableReference<Node>(null, false);
+            }
+        }
+    }
+
+    private final Node head = new Node(Long.MIN_VALUE, MAX_LEVEL);
+    private final Node tail = new Node(Long.MAX_VALUE, MAX_LEVEL);
+
+    ConcurrentIntSkipList() {
+        for (int i = 0; i <= MAX_LEVEL; i++) {
+            head.next[i].set(tail, false);
+        }
+    }
+
+    // Top level of a new node, each level present with probability 1/4
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        int level = 0;
+        while ((bits & 3) == 0 && level < MAX_LEVEL) {
+            level++;
+            bits >>>= 2;
+        }
+        return level;
+    }
+
+    // Fills preds and succs with the nodes around key on every level, unlinking marked nodes on the way
+    // Returns true if an unmarked node with the key is in the bottom level
+    private boolean find(long key, Node[] preds, Node[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node pred = head;
+            for (int level = MAX_LEVEL; level >= 0; level--) {
+                Node curr = pred.next[level].getReference();
+                while (true) {
+                    Node succ = curr.next[level].get(marked);
+                    while (marked[0]) {
+                        // curr is being deleted, help unlink it
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (curr.key < key) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return succs[0].key == key;
+        }
+    }
+
+    // Adds the key, returns false if it was already in the set
+    boolean add(int key) {
+        int topLevel = randomLevel();
+        Node[] preds = new Node[MAX_LEVEL + 1];
+        Node[] succs = new Node[MAX_LEVEL + 1];
+        while (true) {
+            if (find(key, preds, succs)) return false;
+            Node node = new Node(key, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                node.next[level].set(succs[level], false);
+            }
+            // Linking the bottom level is what adds the key, the levels above only speed up searches
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) {
+                continue;
+            }
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    if (preds[level].next[level].compareAndSet(succs[level], node, false, false)) break;
+                    Node oldSucc = node.next[level].getReference();
+                    find(key, preds, succs);
+                    // A remove marks the tower from the top down, so the node may have been removed in the meantime.
+                    // Only replace the successor if it is still unmarked, overwriting a mark would keep a dead node
+                    // linked on this level for good, and then there is nothing left to link anyway
+                    if (!node.next[level].compareAndSet(oldSucc, succs[level], false, false)) return true;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Removes the key, returns false if it was not in the set
+    boolean remove(int key) {
+        Node[] preds = new Node[MAX_LEVEL + 1];
+        Node[] succs = new Node[MAX_LEVEL + 1];
+        if (!find(key, preds, succs)) return false;
+        Node node = succs[0];
+        boolean[] marked = {false};
+        // Mark the upper levels first, from the top down
+        for (int level = node.topLevel; level >= 1; level--) {
+            Node succ = node.next[level].get(marked);
+            while (!marked[0]) {
+                node.next[level].attemptMark(succ, true);
+                succ = node.next[level].get(marked);
+            }
+        }
+        // Marking the bottom level is what removes the key, only one thread can win it
+        Node succ = node.next[0].get(marked);
+        while (true) {
+            boolean iMarkedIt = node.next[0].compareAndSet(succ, succ, false, true);
+            succ = node.next[0].get(marked);
+            if (iMarkedIt) {
+                find(key, preds, succs); // Unlinks the node
+                return true;
+            } else if (marked[0]) {
+                return false;
+            }
+        }
+    }
+
+    // Checks if the key is in the set, without writing anything
+    boolean contains(int key) {
+        boolean[] marked = {false};
+        Node pred = head;
+        Node curr = null;
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (true) {
+                Node succ = curr.next[level].get(marked);
+                while (marked[0]) {
+                    curr = succ;
+                    succ = curr.next[level].get(marked);
+                }
+                if (curr.key < key) {
+                    pred = curr;
+                    curr = succ;
+                } else {
+                    break;
+                }
+            }
+        }
+        return curr.key == key;
+    }
+
+    // Visits the keys in [low, high] in increasing order, returns false if the visitor stopped early
+    // Keys added or removed while the range is being visited may or may not be seen
+    boolean range(int low, int high, TreeTraversal.IntVisitor visitor) {
+        boolean[] marked = {false};
+        Node pred = head;
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            Node curr = pred.next[level].getReference();
+            while (curr.key < low) {
+                pred = curr;
+                curr = curr.next[level].getReference();
+            }
+        }
+        for (Node curr = pred.next[0].getReference(); curr.key <= high; curr = curr.next[0].getReference()) {
+            curr.next[0].get(marked);
+            if (curr.key >= low && !marked[0] && !visitor.visit((int) curr.key)) return false;
+        }
+        return true;
+    }
+
+    // Threads add and remove the same few keys at the same time, each counts its successful adds minus removes per
+    // key. Afterwards the counts of all threads must add up to 0 or 1 for every key and agree with contains and range.
+    // Returns the number of keys that disagree
+    static int checkAddRemove(int threads, int keys, int operations) throws InterruptedException {
+        ConcurrentIntSkipList set = new ConcurrentIntSkipList();
+        long[][] balance = new long[threads][keys];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long[] counts = balance[t];
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operations; i++) {
+                    int key = random.nextInt(keys);
+                    if (random.nextBoolean()) {
+                        if (set.add(key)) counts[key]++;
+                    } else {
+                        if (set.remove(key)) counts[key]--;
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int errors = 0;
+        boolean[] inRange = new boolean[keys];
+        set.range(0, keys - 1, key -> {
+            inRange[key] = true;
+            return true;
+        });
+        for (int key = 0; key < keys; key++) {
+            long added = 0;
+            for (long[] counts : balance) {
+                added += counts[key];
+            }
+            boolean present = set.contains(key);
+            if (added != (present ? 1 : 0) || present != inRange[key]) errors++;
+            // A dead node left on an upper level would make this add spin forever
+            if (!present && (!set.add(key) || !set.contains(key))) errors++;
+        }
+        return errors;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentIntSkipList set = new ConcurrentIntSkipList();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int first = t;
+            writers[t] = new Thread(() -> {
+                for (int i = first; i < 100_000; i += writers.length) {
+                    set.add(i);
+                }
+                for (int i = first; i < 100_000; i += 2 * writers.length) {
+                    set.remove(i);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        System.out.println("Contains 1: " + set.contains(1) + ", contains 8: " + set.contains(8));
+        set.range(0, 20, key -> {
+            System.out.print(key + " ");
+            return true;
+        });
+        System.out.println();
+
+        int errors = 0;
+        for (int round = 0; round < 200; round++) {
+            errors += checkAddRemove(4, 32, 20_000);
+        }
+        System.out.println("Concurrent adds and removes of the same keys, " + errors + " errors");
+        if (errors != 0) throw new AssertionError("The skip list lost, duplicated or kept a removed key");
+    }
+}
@@ -0,0 +1,183 @@
+package datastructures;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicStampedReference;
+
+/* A stack that can be shared between threads without a lock.
+ * It has the same push/pop/peek/isEmpty methods as MyStack.
+ *
+ * The stack itself is a Treiber stack: top is an AtomicReference and push/pop swing it with compareAndSet.
+ * A StackNode is never changed after it has been published, so a thread that read top can safely read its next.
+ *
+ * Under heavy contention most compareAndSet calls on top fail. Instead of retrying on top right away, a thread whose
+ * compareAndSet failed visits a random slot of the elimination array and waits there for a short time.
+ * If a push and a pop meet in the same slot, the push hands its node straight to the pop and neither of them
+ * touches top at all. If nobody shows up, the thread goes back to top and tries again.
+ */
+public class ConcurrentStack<T> {
+    private static class StackNode<T> {
+        private final T data;
+        private StackNode<T> next;
+
+        public StackNode(T item) {
+            this.data = item;
+        }
+    }
+
+    // How long a thread waits in the elimination array before it goes back to top
+    private static final long ELIMINATION_TIMEOUT_NANOS = 1_000;
+
+    private final AtomicReference<StackNode<T>> top = new AtomicReference<>();
+    private final EliminationArray elimination;
+
+    public ConcurrentStack() {
+        this(Math.min(Runtime.getRuntime().availableProcessors(), 32));
+    }
+
+    // eliminationSlots is the number of places where a push and a pop can meet
+    public ConcurrentStack(int eliminationSlots) {
+        elimination = new EliminationArray(Math.max(eliminationSlots, 1));
+    }
+
+    public T pop() {
+        while (true) {
+            StackNode<T> oldTop = top.get();
+            if (oldTop == null) throw new EmptyStackException();
+            if (top.compareAndSet(oldTop, oldTop.next)) {
+                return oldTop.data;
+            }
+            // A pop offers null, only a push offers a node
+            Object other = elimination.visit(null);
+            if (other instanceof StackNode) {
+                @SuppressWarnings("unchecked")
+                StackNode<T> node = (StackNode<T>) other;
+                return node.data;
+            }
+        }
+    }
+
+    public void push(T item) {
+        StackNode<T> t = new StackNode<T>(item);
+        while (true) {
+            StackNode<T> oldTop = top.get();
+            t.next = oldTop;
+            if (top.compareAndSet(oldTop, t)) {
+                return;
+            }
+            // Met a pop, it took the node
+            if (elimination.visit(t) == null) {
+                return;
+            }
+        }
+    }
+
+    public T peek() {
+        StackNode<T> t = top.get();
+        if (t == null) throw new EmptyStackException();
+        return t.data;
+    }
+
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    // Returned when nobody came to the slot in time, or the thread met another thread doing the same operation
+    private static final Object NO_MATCH = new Object();
+
+    // A set of exchangers, a visiting thread picks one of them at random
+    private static class EliminationArray {
+        private final Exchanger[] exchangers;
+
+        EliminationArray(int capacity) {
+            exchangers = new Exchanger[capacity];
+            for (int i = 0; i < capacity; i++) {
+                exchangers[i] = new Exchanger();
+            }
+        }
+
+        // Returns the value of the thread met in the slot, or NO_MATCH
+        // A push meeting a push or a pop meeting a pop is treated as no match
+        Object visit(Object mine) {
+            int slot = ThreadLocalRandom.current().nextInt(exchangers.length);
+            Object yours = exchangers[slot].exchange(mine, ELIMINATION_TIMEOUT_NANOS);
+            if (yours == NO_MATCH || (yours == null) == (mine == null)) return NO_MATCH;
+            return yours;
+        }
+    }
+
+    // Lets two threads swap one value each.
+    // The stamp says what state the slot is in: EMPTY, WAITING (one thread has put its value in and waits for a
+    // partner) or BUSY (a partner has taken that value and left its own for the waiting thread to pick up).
+    private static class Exchanger {
+        private static final int EMPTY = 0;
+        private static final int WAITING = 1;
+        private static final int BUSY = 2;
+
+        private final AtomicStampedReference<Object> slot = new AtomicStampedReference<>(null, EMPTY);
+
+        Object exchange(Object mine, long timeoutNanos) {
+            long deadline = System.nanoTime() + timeoutNanos;
+            int[] state = new int[1];
+            while (System.nanoTime() < deadline) {
+                Object yours = slot.get(state);
+                switch (state[0]) {
+                    case EMPTY:
+                        if (slot.compareAndSet(yours, mine, EMPTY, WAITING)) {
+                            // Wait for a partner
+                            while (System.nanoTime() < deadline) {
+                                yours = slot.get(state);
+                                if (state[0] == BUSY) {
+                                    slot.set(null, EMPTY);
+                                    return yours;
+                                }
+                                Thread.onSpinWait();
+                            }
+                            // Nobody came, take the value back unless a partner showed up in the meantime
+                            if (slot.compareAndSet(mine, null, WAITING, EMPTY)) {
+                                return NO_MATCH;
+                            }
+                            yours = slot.get(state);
+                            slot.set(null, EMPTY);
+                            return yours;
+                        }
+                        break;
+                    case WAITING:
+                        if (slot.compareAndSet(yours, mine, WAITING, BUSY)) {
+                            return yours;
+                        }
+                        break;
+                    default: // BUSY, two other threads are finishing their exchange
+                        Thread.onSpinWait();
+                        break;
+                }
+            }
+            return NO_MATCH;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentStack<Integer> stack = new ConcurrentStack<Integer>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int base = t * 1000;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    stack.push(base + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int count = 0;
+        while (!stack.isEmpty()) {
+            stack.pop();
+            count++;
+        }
+        System.out.println(count);
+    }
+}
@@ -0,0 +1,221 @@
+package datastructures;
+
+/* A read-only copy of a binary search tree laid out in one int array (Eytzinger / BFS order).
+ * In a BinaryTree every step down is a load of leftChild or rightChild from some other place on the heap,
+ * which is a cache miss at almost every level once the tree is bigger than the cache.
+ * Here the tree is implicit: the root is keys[1] and the children of keys[k] are keys[2k] and keys[2k+1].
+ * The shape is the complete binary tree over the sorted keys, so the height is Log(n)+1 no matter how
+ * unbalanced the original tree was. The top levels of the tree sit next to each other at the front of the array
+ * and stay cached, and a search never follows a pointer.
+ *
+ * The search loop has no branch on the comparison: the result of the comparison is added to the index, which the
+ * JIT compiles to a conditional move, so there are no mispredicted branches to flush the pipeline.
+ *
+ * In-order traversal gives the keys in sorted order, like the original tree.
+ * Pre-order and post-order follow the shape of the implicit tree, not the shape of the tree that was frozen.
+ */
+
+class EytzingerTree {
+    final int[] keys; // keys[0] is not used
+    final int size;
+
+    private EytzingerTree(int[] keys, int size) {
+        this.keys = keys;
+        this.size = size;
+    }
+
+    // Copies the keys of a binary search tree into the implicit layout
+    static EytzingerTree freeze(BinaryTree tree) {
+        int[] sorted = TreeTraversal.toArray(tree.root, TreeTraversal.Mode.INORDER);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] > sorted[i]) {
+                throw new IllegalArgumentException("The tree is not a binary search tree");
+            }
+        }
+        return fromSorted(sorted);
+    }
+
+    // Builds the implicit layout from keys in non-decreasing order
+    static EytzingerTree fromSorted(int[] sorted) {
+        int n = sorted.length;
+        int[] keys = new int[n + 1];
+        // Walk the implicit tree in order and hand out the sorted keys one by one
+        int i = 0;
+        for (int k = first(n); k != 0; k = next(k, n)) {
+            keys[k] = sorted[i++];
+        }
+        return new EytzingerTree(keys, n);
+    }
+
+    // Returns the index of the smallest key >= key, or 0 if every key is smaller
+    static int lowerBound(EytzingerTree tree, int key) {
+        int[] keys = tree.keys;
+        int n = tree.size;
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (keys[k] < key ? 1 : 0);
+        }
+        // The path went right after the last node >= key and left ever since, undo those steps
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    // Returns the index of the smallest key > key, or 0 if there is none
+    static int upperBound(EytzingerTree tree, int key) {
+        int[] keys = tree.keys;
+        int n = tree.size;
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (keys[k] <= key ? 1 : 0);
+        }
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    // Checks if the key is in the tree
+    static boolean contains(EytzingerTree tree, int key) {
+        int k = lowerBound(tree, key);
+        return k != 0 && tree.keys[k] == key;
+    }
+
+    // Returns the smallest key >= key, or defaultValue if there is none
+    static int ceiling(EytzingerTree tree, int key, int defaultValue) {
+        int k = lowerBound(tree, key);
+        return k == 0 ? defaultValue : tree.keys[k];
+    }
+
+    // Returns the largest key <= key, or defaultValue if there is none
+    static int floor(EytzingerTree tree, int key, int defaultValue) {
+        int k = upperBound(tree, key);
+        // The largest key <= key is the in-order predecessor of the first key > key
+        k = k == 0 ? last(tree.size) : previous(k, tree.size);
+        return k == 0 ? defaultValue : tree.keys[k];
+    }
+
+    // Index navigation over the implicit complete tree with n nodes. 0 means there is no such node.
+
+    // The leftmost node, first in order
+    static int first(int n) {
+        if (n == 0) return 0;
+        int k = 1;
+        while (2 * k <= n) {
+            k = 2 * k;
+        }
+        return k;
+    }
+
+    // The rightmost node, last in order
+    static int last(int n) {
+        if (n == 0) return 0;
+        int k = 1;
+        while (2 * k + 1 <= n) {
+            k = 2 * k + 1;
+        }
+        return k;
+    }
+
+    // In-order successor of k
+    static int next(int k, int n) {
+        if (2 * k + 1 <= n) {
+            k = 2 * k + 1;
+            while (2 * k <= n) {
+                k = 2 * k;
+            }
+            return k;
+        }
+        // Climb while k is a right child, then one more step to the parent
+        while ((k & 1) == 1) {
+            k >>>= 1;
+        }
+        return k >>> 1;
+    }
+
+    // In-order predecessor of k
+    static int previous(int k, int n) {
+        if (2 * k <= n) {
+            k = 2 * k;
+            while (2 * k + 1 <= n) {
+                k = 2 * k + 1;
+            }
+            return k;
+        }
+        // Climb while k is a left child, then one more step to the parent
+        while (k > 1 && (k & 1) == 0) {
+            k >>>= 1;
+        }
+        return k >>> 1;
+    }
+
+    // Traversals, without recursion or a stack. They return false if the visitor stopped them.
+
+    static boolean traverse(EytzingerTree tree, TreeTraversal.Mode mode, TreeTraversal.IntVisitor visitor) {
+        switch (mode) {
+            case PREORDER:
+                return preOrder(tree, visitor);
+            case INORDER:
+                return inOrder(tree, visitor);
+            default:
+                return postOrder(tree, visitor);
+        }
+    }
+
+    static boolean inOrder(EytzingerTree tree, TreeTraversal.IntVisitor visitor) {
+        int n = tree.size;
+        for (int k = first(n); k != 0; k = next(k, n)) {
+            if (!visitor.visit(tree.keys[k])) return false;
+        }
+        return true;
+    }
+
+    static boolean preOrder(EytzingerTree tree, TreeTraversal.IntVisitor visitor) {
+        int n = tree.size;
+        int k = n == 0 ? 0 : 1;
+        while (k != 0) {
+            if (!visitor.visit(tree.keys[k])) return false;
+            if (2 * k <= n) {
+                k = 2 * k;
+            } else {
+                // Climb until there is an unvisited right sibling
+                while (k != 0 && ((k & 1) == 1 || k + 1 > n)) {
+                    k >>>= 1;
+                }
+                if (k != 0) k++;
+            }
+        }
+        return true;
+    }
+
+    static boolean postOrder(EytzingerTree tree, TreeTraversal.IntVisitor visitor) {
+        int n = tree.size;
+        int k = first(n);
+        while (k != 0) {
+            if (!visitor.visit(tree.keys[k])) return false;
+            if (k == 1) break;
+            if ((k & 1) == 0 && k + 1 <= n) {
+                // Go to the right sibling, then down to the first node of its subtree in postorder
+                k = k + 1;
+                while (2 * k <= n) {
+                    k = 2 * k;
+                }
+            } else {
+                k >>>= 1;
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        BinaryTree tree = new BinaryTree();
+        for (int i = 0; i < 20; i += 2) {
+            BinaryTree.insert(tree, i);
+        }
+        EytzingerTree frozen = freeze(tree);
+        System.out.println("Contains 8: " + contains(frozen, 8) + ", contains 9: " + contains(frozen, 9));
+        System.out.println("Floor of 9: " + floor(frozen, 9, -1) + ", ceiling of 9: " + ceiling(frozen, 9, -1));
+        for (TreeTraversal.Mode mode : TreeTraversal.Mode.values()) {
+            traverse(frozen, mode, value -> {
+                System.out.print(value + " ");
+                return true;
+            });
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/* A set of LinkedList nodes that compares them by reference.
+ * HashSet<Node> wraps every node in a HashMap entry and calls hashCode and equals on it. A node is the same node only
+ * when it is the same object, so this set keeps the references in one array, hashes them with
+ * System.identityHashCode, compares them with == and resolves collisions by linear probing like IntHashSet.
+ * That is one reference per slot, about 8 to 16 bytes per node, and no allocation per node.
+ *
+ * Use it where marking the nodes themselves (LinkedList.VisitEpoch) is not possible, for example when another
+ * traversal may be marking the same nodes at the same time.
+ */
+
+class IdentityNodeSet {
+    private static final int MIN_CAPACITY = 16;
+
+    private LinkedList.Node[] table;
+    private int mask;
+    private int size;
+
+    IdentityNodeSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    // A set that holds expectedSize nodes without growing
+    IdentityNodeSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 2 < expectedSize && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        table = new LinkedList.Node[capacity];
+        mask = capacity - 1;
+    }
+
+    // identityHashCode only fills the low 25 to 31 bits, mix them so the mask sees all of them
+    private static int hash(LinkedList.Node node) {
+        int h = System.identityHashCode(node) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Adds the node, returns false if it was already in the set
+    boolean add(LinkedList.Node node) {
+        int i = hash(node) & mask;
+        while (table[i] != null) {
+            if (table[i] == node) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = node;
+        if (++size > table.length / 2 && table.length < (1 << 30)) grow();
+        return true;
+    }
+
+    boolean contains(LinkedList.Node node) {
+        int i = hash(node) & mask;
+        while (table[i] != null) {
+            if (table[i] == node) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Removes all nodes and keeps the memory for reuse
+    void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    // Doubles the table and puts every node back in its new place
+    private void grow() {
+        LinkedList.Node[] old = table;
+        table = new LinkedList.Node[old.length * 2];
+        mask = table.length - 1;
+        for (LinkedList.Node node : old) {
+            if (node != null) {
+                int i = hash(node) & mask;
+                while (table[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = node;
+            }
+        }
+    }
+}
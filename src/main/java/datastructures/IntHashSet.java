@@ -0,0 +1,160 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/* A set of ints that does not box its values.
+ * HashSet<Integer> allocates an Integer and a HashMap node for every value, about 50 bytes per value once the table is
+ * counted. This set keeps the values themselves in one int array and resolves collisions by linear probing: a value
+ * goes into the first free slot at or after its hash, so a lookup reads a few neighbouring ints instead of following
+ * pointers. The table is kept at most half full, which costs 8 to 16 bytes per value.
+ * 0 marks a free slot, so the value 0 is not stored in the table but in its own flag.
+ *
+ * When all values are known to fall in a small range, the bitmap mode (forRange) uses one bit per possible value
+ * instead: a lookup is a shift and a mask, and a range of n values costs n / 8 bytes however many of them are added.
+ */
+
+class IntHashSet {
+    private static final int MIN_CAPACITY = 16;
+
+    // Hash mode
+    private int[] table;
+    private int mask;
+    private boolean containsZero;
+
+    // Bitmap mode, bits is null in hash mode
+    private long[] bits;
+    private int min;
+    private int max;
+
+    private int size;
+
+    IntHashSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    // A set that holds expectedSize values without growing
+    IntHashSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 2 < expectedSize && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    // A set in bitmap mode for the values in [min, max]
+    static IntHashSet forRange(int min, int max) {
+        if (min > max) throw new IllegalArgumentException("Empty range: [" + min + ", " + max + "]");
+        long range = (long) max - min + 1;
+        IntHashSet set = new IntHashSet(0);
+        set.table = null;
+        set.bits = new long[(int) ((range + 63) >>> 6)];
+        set.min = min;
+        set.max = max;
+        return set;
+    }
+
+    // Spreads the bits of the value so that consecutive values do not fill consecutive slots
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Adds the value, returns false if it was already in the set
+    boolean add(int value) {
+        if (bits != null) {
+            long offset = checkRange(value);
+            int word = (int) (offset >>> 6);
+            long bit = 1L << offset;
+            if ((bits[word] & bit) != 0) return false;
+            bits[word] |= bit;
+            size++;
+            return true;
+        }
+        if (value == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = hash(value) & mask;
+        while (table[i] != 0) {
+            if (table[i] == value) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        if (++size > table.length / 2 && table.length < (1 << 30)) grow();
+        return true;
+    }
+
+    boolean contains(int value) {
+        if (bits != null) {
+            if (value < min || value > max) return false;
+            long offset = (long) value - min;
+            return (bits[(int) (offset >>> 6)] & (1L << offset)) != 0;
+        }
+        if (value == 0) return containsZero;
+        int i = hash(value) & mask;
+        while (table[i] != 0) {
+            if (table[i] == value) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Removes all values and keeps the memory for reuse
+    void clear() {
+        if (bits != null) {
+            Arrays.fill(bits, 0L);
+        } else {
+            Arrays.fill(table, 0);
+            containsZero = false;
+        }
+        size = 0;
+    }
+
+    private long checkRange(int value) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(value + " is outside the range [" + min + ", " + max + "] of the bitmap");
+        }
+        return (long) value - min;
+    }
+
+    // Doubles the table and puts every value back in its new place
+    private void grow() {
+        int[] old = table;
+        table = new int[old.length * 2];
+        mask = table.length - 1;
+        for (int value : old) {
+            if (value != 0) {
+                int i = hash(value) & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = value;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        IntHashSet set = new IntHashSet();
+        for (int i = -1_000_000; i < 1_000_000; i += 3) {
+            set.add(i);
+        }
+        System.out.println("Size: " + set.size() + ", contains 2: " + set.contains(2) + ", contains 3: " + set.contains(3));
+
+        IntHashSet bitmap = IntHashSet.forRange(0, 999);
+        for (int i = 0; i < 5000; i++) {
+            bitmap.add(i % 1000);
+        }
+        System.out.println("Bitmap size: " + bitmap.size() + ", contains 999: " + bitmap.contains(999) + ", contains 1000: " + bitmap.contains(1000));
+    }
+}
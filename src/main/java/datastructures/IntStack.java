@@ -0,0 +1,149 @@
+package datastructures;
+
+import java.util.EmptyStackException;
+
+/* A stack of ints that does not box its values.
+ * MyStack<Integer> allocates an Integer and a StackNode for every push. This stack keeps the values in fixed-size
+ * int arrays (chunks) that are linked together like the nodes of MyStack, so one allocation holds CHUNK_SIZE values
+ * and values that are next to each other on the stack are next to each other in memory.
+ * When a chunk runs empty it is kept as a spare instead of being thrown away, so a stack that goes up and down
+ * around the same depth stops allocating altogether.
+ */
+public class IntStack {
+    static final int CHUNK_SIZE = 1024;
+
+    private static class Chunk {
+        private final int[] data = new int[CHUNK_SIZE];
+        private Chunk next; // The chunk below this one
+    }
+
+    private Chunk top;      // The chunk holding the top value
+    private int topIndex;   // Number of values used in the top chunk
+    private Chunk spare;    // An empty chunk kept for the next time the stack grows
+    private long size;
+
+    public int pop() {
+        if (topIndex == 0) {
+            if (top == null || top.next == null) throw new EmptyStackException();
+            dropTopChunk();
+        }
+        size--;
+        return top.data[--topIndex];
+    }
+
+    public void push(int item) {
+        if (top == null || topIndex == CHUNK_SIZE) {
+            addChunk();
+        }
+        top.data[topIndex++] = item;
+        size++;
+    }
+
+    public int peek() {
+        if (topIndex == 0) {
+            if (top == null || top.next == null) throw new EmptyStackException();
+            return top.next.data[CHUNK_SIZE - 1];
+        }
+        return top.data[topIndex - 1];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Pushes the values in array order, so the last value ends up on top
+    public void pushAll(int[] items) {
+        pushAll(items, 0, items.length);
+    }
+
+    public void pushAll(int[] items, int offset, int length) {
+        while (length > 0) {
+            if (top == null || topIndex == CHUNK_SIZE) {
+                addChunk();
+            }
+            int n = Math.min(length, CHUNK_SIZE - topIndex);
+            System.arraycopy(items, offset, top.data, topIndex, n);
+            topIndex += n;
+            size += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    // Pops up to items.length values into the array, the top value goes into items[0]
+    // Returns the number of values popped
+    public int popInto(int[] items) {
+        return popInto(items, 0, items.length);
+    }
+
+    public int popInto(int[] items, int offset, int length) {
+        int popped = 0;
+        while (popped < length && size > 0) {
+            if (topIndex == 0) {
+                dropTopChunk();
+            }
+            int n = Math.min(length - popped, topIndex);
+            for (int i = 0; i < n; i++) {
+                items[offset + popped + i] = top.data[topIndex - 1 - i];
+            }
+            topIndex -= n;
+            size -= n;
+            popped += n;
+        }
+        return popped;
+    }
+
+    // Removes every value, keeping one chunk for reuse
+    public void clear() {
+        if (top != null) {
+            while (top.next != null) {
+                top = top.next;
+            }
+            topIndex = 0;
+        }
+        size = 0;
+    }
+
+    private void addChunk() {
+        Chunk chunk = spare;
+        if (chunk != null) {
+            spare = null;
+        } else {
+            chunk = new Chunk();
+        }
+        chunk.next = top;
+        top = chunk;
+        topIndex = 0;
+    }
+
+    // Moves to the full chunk below and keeps the empty top chunk as the spare
+    private void dropTopChunk() {
+        Chunk empty = top;
+        top = empty.next;
+        empty.next = null;
+        spare = empty;
+        topIndex = CHUNK_SIZE;
+    }
+
+    public static void main(String[] args) {
+        IntStack stack = new IntStack();
+        stack.push(1);
+        stack.push(2);
+        stack.push(3);
+        System.out.println(stack.peek());
+
+        int[] values = new int[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        stack.pushAll(values);
+        int[] popped = new int[4];
+        stack.popInto(popped);
+        System.out.println(popped[0] + " " + popped[1] + " " + popped[2] + " " + popped[3]);
+        System.out.println(stack.size());
+    }
+}
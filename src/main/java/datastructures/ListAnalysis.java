@@ -0,0 +1,245 @@
+package datastructures;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/* Cycles and merge points of LinkedLists, without changing the lists.
+ * The mergePoint strategies in LinkedList each give something up: mergePoint1 is O(n*m), mergePoint2 moves the head
+ * of the longer list, mergePoint3 stamps every node, mergePoint4 links the last node of list1 back to its head and
+ * leaves it that way, and all of them assume the lists intersect and have no cycle. The methods here only read next
+ * references and use a few local variables, O(1) extra space, so any number of threads can run them at the same time
+ * on the same lists as long as nobody changes the lists meanwhile.
+ *
+ * Cycles are found with Brent's algorithm. A hare walks ahead one node at a time and a tortoise waits at a node;
+ * whenever the hare has taken a power of two steps since the tortoise last moved, the tortoise jumps to the hare.
+ * In a cycle the hare runs into the tortoise once the power of two reaches the cycle length, and the number of steps
+ * since the last jump is that length. Unlike Floyd's tortoise and hare, every node is read once per pass, by one
+ * pointer only.
+ *
+ * A list either ends in null or runs into a cycle, so it looks like the letter rho: a tail of tailLength nodes and
+ * then a cycle of length nodes. Two lists that share a node share everything after it, so they share their end:
+ * either both end in the same null, or both run into the same cycle.
+ */
+
+class ListAnalysis {
+
+    // The cycle at the end of a list, see cycle
+    static final class Cycle {
+        // The first node on the cycle, where the tail joins it
+        final LinkedList.Node start;
+        // Number of nodes on the cycle
+        final int length;
+        // Number of nodes before start
+        final int tailLength;
+
+        private Cycle(LinkedList.Node start, int length, int tailLength) {
+            this.start = start;
+            this.length = length;
+            this.tailLength = tailLength;
+        }
+    }
+
+    private ListAnalysis() {
+    }
+
+    static boolean hasCycle(LinkedList list) {
+        return lengthIfAcyclic(list.head) < 0;
+    }
+
+    static Cycle cycle(LinkedList list) {
+        return cycle(list.head);
+    }
+
+    // Returns the cycle the list runs into, or null if it ends
+    // Time complexity: O(n), space complexity: O(1)
+    static Cycle cycle(LinkedList.Node head) {
+        if (head == null) return null;
+        // Find the cycle length: the steps the hare takes after the tortoise's last jump until they meet
+        LinkedList.Node tortoise = head;
+        LinkedList.Node hare = head.next;
+        long power = 1;
+        int length = 1;
+        while (hare != tortoise) {
+            if (hare == null) return null;
+            if (power == length) {
+                tortoise = hare;
+                power <<= 1;
+                length = 0;
+            }
+            hare = hare.next;
+            length++;
+        }
+        // Start one pointer length nodes ahead of the other, they then meet at the start of the cycle
+        tortoise = head;
+        hare = head;
+        for (int i = 0; i < length; i++) {
+            hare = hare.next;
+        }
+        int tailLength = 0;
+        while (tortoise != hare) {
+            tortoise = tortoise.next;
+            hare = hare.next;
+            tailLength++;
+        }
+        return new Cycle(tortoise, length, tailLength);
+    }
+
+    // Number of nodes, or -1 if the list has a cycle, in one pass of Brent's algorithm
+    private static int lengthIfAcyclic(LinkedList.Node head) {
+        if (head == null) return 0;
+        LinkedList.Node tortoise = head;
+        LinkedList.Node hare = head.next;
+        long power = 1;
+        long steps = 1;
+        int length = 1;
+        while (hare != null) {
+            if (hare == tortoise) return -1;
+            if (power == steps) {
+                tortoise = hare;
+                power <<= 1;
+                steps = 0;
+            }
+            hare = hare.next;
+            steps++;
+            length++;
+        }
+        return length;
+    }
+
+    static LinkedList.Node mergePoint(LinkedList list1, LinkedList list2) {
+        return mergePoint(list1.head, list2.head);
+    }
+
+    // Returns the first node both lists share, or null if they do not intersect
+    // If both lists run into the same cycle but join it at different nodes, every node of the cycle is shared and
+    // none comes first for both lists, then the start of the cycle as seen from head1 is returned
+    // Time complexity: O(n + m), space complexity: O(1)
+    static LinkedList.Node mergePoint(LinkedList.Node head1, LinkedList.Node head2) {
+        if (head1 == null || head2 == null) return null;
+        int length1 = lengthIfAcyclic(head1);
+        int length2 = lengthIfAcyclic(head2);
+        LinkedList.Node end = null;
+        if (length1 < 0 || length2 < 0) {
+            // A list with a cycle and one without can share no node
+            if (length1 >= 0 || length2 >= 0) return null;
+            Cycle cycle1 = cycle(head1);
+            Cycle cycle2 = cycle(head2);
+            if (!onCycle(cycle1, cycle2.start)) return null;
+            if (cycle1.start != cycle2.start) return cycle1.start;
+            // Both join the cycle at the same node, so the lists merge in their tails or right there
+            end = cycle1.start;
+            length1 = cycle1.tailLength;
+            length2 = cycle2.tailLength;
+        }
+        // Skip the extra nodes of the longer list, then the two runners reach the merge point, or end, together
+        LinkedList.Node runner1 = skip(head1, length1 - length2);
+        LinkedList.Node runner2 = skip(head2, length2 - length1);
+        while (runner1 != runner2 && runner1 != end) {
+            runner1 = runner1.next;
+            runner2 = runner2.next;
+        }
+        return runner1;
+    }
+
+    // Checks if node is one of the nodes of the cycle
+    private static boolean onCycle(Cycle cycle, LinkedList.Node node) {
+        LinkedList.Node current = cycle.start;
+        for (int i = 0; i < cycle.length; i++) {
+            if (current == node) return true;
+            current = current.next;
+        }
+        return false;
+    }
+
+    private static LinkedList.Node skip(LinkedList.Node node, int count) {
+        for (int i = 0; i < count; i++) {
+            node = node.next;
+        }
+        return node;
+    }
+
+    // The first node of list1 that list2 also reaches, found with sets of the nodes seen, to check mergePoint against
+    private static LinkedList.Node bruteForceMergePoint(LinkedList.Node head1, LinkedList.Node head2) {
+        IdentityNodeSet reached2 = new IdentityNodeSet();
+        for (LinkedList.Node node = head2; node != null && reached2.add(node); node = node.next) {
+        }
+        IdentityNodeSet seen1 = new IdentityNodeSet();
+        for (LinkedList.Node node = head1; node != null && seen1.add(node); node = node.next) {
+            if (reached2.contains(node)) return node;
+        }
+        return null;
+    }
+
+    // Checks cycle against the position of the first node a walk over the list sees twice
+    private static boolean cycleMatches(LinkedList.Node head, Cycle cycle) {
+        ArrayList<LinkedList.Node> walked = new ArrayList<>();
+        IdentityNodeSet seen = new IdentityNodeSet();
+        LinkedList.Node node = head;
+        while (node != null && seen.add(node)) {
+            walked.add(node);
+            node = node.next;
+        }
+        if (node == null) return cycle == null && lengthIfAcyclic(head) == walked.size();
+        int tailLength = walked.indexOf(node);
+        return cycle != null && cycle.start == node && cycle.tailLength == tailLength
+                && cycle.length == walked.size() - tailLength && lengthIfAcyclic(head) < 0;
+    }
+
+    // Builds random pairs of lists from a small pool of nodes with random next references, which gives every shape:
+    // separate lists, shared tails, one or both lists cyclic, and one cycle entered at the same or at different nodes.
+    // Compares cycle and mergePoint with the brute force versions, returns the number of pairs that disagree
+    static int checkRandomShapes(int shapes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int errors = 0;
+        int disjoint = 0;
+        int oneCyclic = 0;
+        int differentEntries = 0;
+        for (int shape = 0; shape < shapes; shape++) {
+            LinkedList.Node[] pool = new LinkedList.Node[1 + random.nextInt(12)];
+            for (int i = 0; i < pool.length; i++) {
+                pool[i] = new LinkedList.Node(i);
+            }
+            for (LinkedList.Node node : pool) {
+                node.next = random.nextInt(4) == 0 ? null : pool[random.nextInt(pool.length)];
+            }
+            LinkedList.Node head1 = pool[random.nextInt(pool.length)];
+            LinkedList.Node head2 = pool[random.nextInt(pool.length)];
+            Cycle cycle1 = cycle(head1);
+            Cycle cycle2 = cycle(head2);
+            LinkedList.Node expected = bruteForceMergePoint(head1, head2);
+            if (!cycleMatches(head1, cycle1) || !cycleMatches(head2, cycle2)
+                    || mergePoint(head1, head2) != expected) {
+                errors++;
+            }
+            if (expected == null) disjoint++;
+            if ((cycle1 == null) != (cycle2 == null)) oneCyclic++;
+            if (expected != null && cycle1 != null && cycle1.start != cycle2.start) differentEntries++;
+        }
+        System.out.println(shapes + " random pairs: " + disjoint + " without a shared node, " + oneCyclic
+                + " with one list cyclic, " + differentEntries + " entering a shared cycle at different nodes, "
+                + errors + " errors");
+        return errors;
+    }
+
+    public static void main(String[] args) {
+        // Two lists that share their last three nodes
+        LinkedList shared = LinkedList.fromArray(new int[] {7, 8, 9});
+        LinkedList list1 = LinkedList.fromArray(new int[] {1, 2, 3, 4});
+        LinkedList list2 = LinkedList.fromArray(new int[] {5, 6});
+        LinkedList.appendNode(list1, shared.head);
+        LinkedList.appendNode(list2, shared.head);
+        System.out.println("Merge point: " + mergePoint(list1, list2).data);
+        System.out.println("Merge point with an unrelated list: " + mergePoint(list1, LinkedList.fromArray(new int[] {7, 8})));
+
+        // Close the shared part into a cycle 8 -> 9 -> 8, both lists now run into it at 8
+        shared.tail.next = shared.head.next;
+        Cycle cycle = cycle(list1);
+        System.out.println("Cycle of list1 starts at " + cycle.start.data + ", length " + cycle.length
+                + ", after " + cycle.tailLength + " nodes");
+        System.out.println("Merge point of the cyclic lists: " + mergePoint(list1, list2).data);
+        System.out.println("list2 has a cycle: " + hasCycle(list2) + ", the list is unchanged: "
+                + (list1.head.data == 1 && shared.tail.next == shared.head.next));
+
+        if (checkRandomShapes(20_000, 42) != 0) throw new AssertionError("cycle or mergePoint disagrees with brute force");
+    }
+}
@@ -0,0 +1,136 @@
+package datastructures;
+
+import java.util.EmptyStackException;
+
+/* A stack of longs that works the same way as IntStack.
+ * The values are kept in linked chunks of CHUNK_SIZE longs instead of one boxed Long and one StackNode per push,
+ * and an emptied chunk is kept as a spare so a stack that stays around the same depth does not allocate.
+ */
+public class LongStack {
+    static final int CHUNK_SIZE = 1024;
+
+    private static class Chunk {
+        private final long[] data = new long[CHUNK_SIZE];
+        private Chunk next; // The chunk below this one
+    }
+
+    private Chunk top;      // The chunk holding the top value
+    private int topIndex;   // Number of values used in the top chunk
+    private Chunk spare;    // An empty chunk kept for the next time the stack grows
+    private long size;
+
+    public long pop() {
+        if (topIndex == 0) {
+            if (top == null || top.next == null) throw new EmptyStackException();
+            dropTopChunk();
+        }
+        size--;
+        return top.data[--topIndex];
+    }
+
+    public void push(long item) {
+        if (top == null || topIndex == CHUNK_SIZE) {
+            addChunk();
+        }
+        top.data[topIndex++] = item;
+        size++;
+    }
+
+    public long peek() {
+        if (topIndex == 0) {
+            if (top == null || top.next == null) throw new EmptyStackException();
+            return top.next.data[CHUNK_SIZE - 1];
+        }
+        return top.data[topIndex - 1];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Pushes the values in array order, so the last value ends up on top
+    public void pushAll(long[] items) {
+        pushAll(items, 0, items.length);
+    }
+
+    public void pushAll(long[] items, int offset, int length) {
+        while (length > 0) {
+            if (top == null || topIndex == CHUNK_SIZE) {
+                addChunk();
+            }
+            int n = Math.min(length, CHUNK_SIZE - topIndex);
+            System.arraycopy(items, offset, top.data, topIndex, n);
+            topIndex += n;
+            size += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    // Pops up to items.length values into the array, the top value goes into items[0]
+    // Returns the number of values popped
+    public int popInto(long[] items) {
+        return popInto(items, 0, items.length);
+    }
+
+    public int popInto(long[] items, int offset, int length) {
+        int popped = 0;
+        while (popped < length && size > 0) {
+            if (topIndex == 0) {
+                dropTopChunk();
+            }
+            int n = Math.min(length - popped, topIndex);
+            for (int i = 0; i < n; i++) {
+                items[offset + popped + i] = top.data[topIndex - 1 - i];
+            }
+            topIndex -= n;
+            size -= n;
+            popped += n;
+        }
+        return popped;
+    }
+
+    // Removes every value, keeping one chunk for reuse
+    public void clear() {
+        if (top != null) {
+            while (top.next != null) {
+                top = top.next;
+            }
+            topIndex = 0;
+        }
+        size = 0;
+    }
+
+    private void addChunk() {
+        Chunk chunk = spare;
+        if (chunk != null) {
+            spare = null;
+        } else {
+            chunk = new Chunk();
+        }
+        chunk.next = top;
+        top = chunk;
+        topIndex = 0;
+    }
+
+    // Moves to the full chunk below and keeps the empty top chunk as the spare
+    private void dropTopChunk() {
+        Chunk empty = top;
+        top = empty.next;
+        empty.next = null;
+        spare = empty;
+        topIndex = CHUNK_SIZE;
+    }
+
+    public static void main(String[] args) {
+        LongStack stack = new LongStack();
+        stack.push(1L << 40);
+        stack.push(2L << 40);
+        System.out.println(stack.pop());
+        System.out.println(stack.peek());
+    }
+}
@@ -0,0 +1,315 @@
+package datastructures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/* Why map a LinkedList into a file?
+ * A LinkedList that is bigger than a comfortable heap either needs a huge heap or does not fit at all,
+ * and every restart has to build it again from wherever the values came from.
+ * This version keeps its nodes in a file that is memory-mapped with FileChannel.map. The operating system pages
+ * the nodes in and out, the Java heap only holds a handful of buffer objects, and reopening the file gives back
+ * the same list without rebuilding it.
+ *
+ * File layout:
+ * The first HEADER_BYTES bytes hold the header (magic, version, head, tail, size, free, used).
+ * After it come the node slots, 8 bytes each: the int value and the int index of the next slot (NIL at the end).
+ * Slots are mapped in segments of SEGMENT_SLOTS because a single mapping cannot be larger than 2GB.
+ * Deleted slots are kept on a free list threaded through the next field, like PooledLinkedList.
+ *
+ * Changes are written straight into the mapped region. They become durable when force is called (or when the
+ * operating system decides to write the pages back), so call force at the points where the list must survive a crash.
+ */
+
+class MappedLinkedList implements Closeable {
+    static final int NIL = -1;
+    static final int MAGIC = 0x4C4C4D31; // "LLM1"
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 4096;
+    static final int SLOT_BYTES = 8;
+    static final int SEGMENT_SHIFT = 23;
+    static final int SEGMENT_SLOTS = 1 << SEGMENT_SHIFT; // 64MB per segment
+    static final int SEGMENT_MASK = SEGMENT_SLOTS - 1;
+
+    // Header offsets
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int HEAD_OFFSET = 8;
+    private static final int TAIL_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int FREE_OFFSET = 20;
+    private static final int USED_OFFSET = 24;
+
+    FileChannel channel;
+    MappedByteBuffer header;
+    ArrayList<MappedByteBuffer> segments = new ArrayList<>();
+
+    private MappedLinkedList(FileChannel channel) throws IOException {
+        this.channel = channel;
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+    }
+
+    // Opens the list stored in the file, or creates an empty one if the file is new
+    // An existing file is only mapped, and so only changed, once its header shows it is a MappedLinkedList
+    static MappedLinkedList open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean isNew = channel.size() == 0;
+            if (!isNew && !hasHeader(channel)) {
+                throw new IOException(path + " is not a MappedLinkedList file");
+            }
+            MappedLinkedList list = new MappedLinkedList(channel);
+            if (isNew) {
+                list.header.putInt(MAGIC_OFFSET, MAGIC);
+                list.header.putInt(VERSION_OFFSET, VERSION);
+                list.header.putInt(HEAD_OFFSET, NIL);
+                list.header.putInt(TAIL_OFFSET, NIL);
+                list.header.putInt(SIZE_OFFSET, 0);
+                list.header.putInt(FREE_OFFSET, NIL);
+                list.header.putInt(USED_OFFSET, 0);
+            }
+            return list;
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+
+    // Reads the magic and version with a plain read, mapping a shorter file would extend it with zeros
+    private static boolean hasHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_BYTES) return false;
+        ByteBuffer buffer = ByteBuffer.allocate(VERSION_OFFSET + 4);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+        }
+        return !buffer.hasRemaining()
+                && buffer.getInt(MAGIC_OFFSET) == MAGIC && buffer.getInt(VERSION_OFFSET) == VERSION;
+    }
+
+    // Writes all changes made so far to the file
+    static void force(MappedLinkedList list) {
+        list.header.force();
+        for (MappedByteBuffer segment : list.segments) {
+            segment.force();
+        }
+    }
+
+    // Forces the changes to the file and releases it
+    @Override
+    public void close() throws IOException {
+        force(this);
+        channel.close();
+    }
+
+    // Accessors for the header and the node slots
+
+    int head() { return header.getInt(HEAD_OFFSET); }
+    int tail() { return header.getInt(TAIL_OFFSET); }
+    int size() { return header.getInt(SIZE_OFFSET); }
+    private void head(int node) { header.putInt(HEAD_OFFSET, node); }
+    private void tail(int node) { header.putInt(TAIL_OFFSET, node); }
+    private void size(int n) { header.putInt(SIZE_OFFSET, n); }
+
+    int data(int node) {
+        return segment(node).getInt((node & SEGMENT_MASK) * SLOT_BYTES);
+    }
+
+    int next(int node) {
+        return segment(node).getInt((node & SEGMENT_MASK) * SLOT_BYTES + 4);
+    }
+
+    private void data(int node, int value) {
+        segment(node).putInt((node & SEGMENT_MASK) * SLOT_BYTES, value);
+    }
+
+    private void next(int node, int nextNode) {
+        segment(node).putInt((node & SEGMENT_MASK) * SLOT_BYTES + 4, nextNode);
+    }
+
+    // Maps the segment holding the slot, extending the file if needed
+    private MappedByteBuffer segment(int node) {
+        int index = node >>> SEGMENT_SHIFT;
+        while (segments.size() <= index) {
+            long position = HEADER_BYTES + (long) segments.size() * SEGMENT_SLOTS * SLOT_BYTES;
+            try {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, (long) SEGMENT_SLOTS * SLOT_BYTES));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return segments.get(index);
+    }
+
+    // Returns a slot for a new node, reusing a deleted one if there is one
+    private int allocate(int value) {
+        int node = header.getInt(FREE_OFFSET);
+        if (node != NIL) {
+            header.putInt(FREE_OFFSET, next(node));
+        } else {
+            node = header.getInt(USED_OFFSET);
+            header.putInt(USED_OFFSET, node + 1);
+        }
+        data(node, value);
+        next(node, NIL);
+        return node;
+    }
+
+    private void release(int node) {
+        next(node, header.getInt(FREE_OFFSET));
+        header.putInt(FREE_OFFSET, node);
+    }
+
+    // Checks of the list is empty
+    static boolean checkIfEmpty(MappedLinkedList list) {
+        return list.head() == NIL;
+    }
+
+    // Returns the number of nodes, it is stored in the header
+    static int countNodes(MappedLinkedList list) {
+        return list.size();
+    }
+
+    // Prints the list
+    static void printLinkedList(MappedLinkedList list) {
+        for (int node = list.head(); node != NIL; node = list.next(node)) {
+            System.out.print(list.data(node) + " ");
+        }
+        System.out.println();
+    }
+
+    // Inserts a value at the beginning of the list and returns its slot
+    static int insertNewHead(MappedLinkedList list, int value) {
+        int node = list.allocate(value);
+        list.next(node, list.head());
+        list.head(node);
+        if (list.tail() == NIL) list.tail(node);
+        list.size(list.size() + 1);
+        return node;
+    }
+
+    // Appends a value to the end of the list and returns its slot
+    static int appendNode(MappedLinkedList list, int value) {
+        int node = list.allocate(value);
+        if (list.head() == NIL) {
+            list.head(node);
+        } else {
+            list.next(list.tail(), node);
+        }
+        list.tail(node);
+        list.size(list.size() + 1);
+        return node;
+    }
+
+    // Inserts a value after the node in the given slot and returns the new slot
+    static int insertNode(MappedLinkedList list, int node, int value) {
+        int newNode = list.allocate(value);
+        list.next(newNode, list.next(node));
+        list.next(node, newNode);
+        if (list.tail() == node) list.tail(newNode);
+        list.size(list.size() + 1);
+        return newNode;
+    }
+
+    // Returns the slot of the first node with the matching value, or NIL
+    static int find(MappedLinkedList list, int key) {
+        for (int node = list.head(); node != NIL; node = list.next(node)) {
+            if (list.data(node) == key) return node;
+        }
+        return NIL;
+    }
+
+    // Checks if a node with the matching value is in the list
+    static boolean contains(MappedLinkedList list, int key) {
+        return find(list, key) != NIL;
+    }
+
+    // Deletes the first node with the matching value
+    // Returns false when there is no such node
+    static boolean deleteNode(MappedLinkedList list, int key) {
+        int previousNode = NIL;
+        int currentNode = list.head();
+        while (currentNode != NIL && list.data(currentNode) != key) {
+            previousNode = currentNode;
+            currentNode = list.next(currentNode);
+        }
+        if (currentNode == NIL) return false;
+        unlink(list, previousNode, currentNode);
+        return true;
+    }
+
+    // Removes node from the list, previousNode is the node before it or NIL if node is the head
+    private static void unlink(MappedLinkedList list, int previousNode, int node) {
+        if (previousNode == NIL) {
+            list.head(list.next(node));
+        } else {
+            list.next(previousNode, list.next(node));
+        }
+        if (list.tail() == node) list.tail(previousNode);
+        list.size(list.size() - 1);
+        list.release(node);
+    }
+
+    // Returns the value of the kth to last element (k = 1 is the last element)
+    // The size is kept in the header, so the kth to last element is the ((size-k)+1)th in the list
+    static int kthToLastElement(MappedLinkedList list, int k) {
+        int size = list.size();
+        if (k < 1 || k > size) {
+            throw new IndexOutOfBoundsException("k = " + k + ", size = " + size);
+        }
+        int runner = list.head();
+        for (int i = 1; i < (size - k) + 1; i++) {
+            runner = list.next(runner);
+        }
+        return list.data(runner);
+    }
+
+    // Removes duplicate values with a current pointer and a runner, like LinkedList.removeDuplicates
+    // Nothing is loaded onto the heap, the freed slots go back on the free list.
+    // Time complexity: O(n^2)
+    static void removeDuplicates(MappedLinkedList list) {
+        for (int current = list.head(); current != NIL; current = list.next(current)) {
+            int value = list.data(current);
+            int runner = current;
+            int following = list.next(runner);
+            while (following != NIL) {
+                if (list.data(following) == value) {
+                    unlink(list, runner, following);
+                } else {
+                    runner = following;
+                }
+                following = list.next(runner);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Paths.get(args[0]) : Paths.get("list.mapped");
+        try (MappedLinkedList list = open(path)) {
+            if (checkIfEmpty(list)) {
+                for (int i = 1; i <= 6; i++) {
+                    appendNode(list, i % 4);
+                }
+                force(list);
+                System.out.println("Created a new list.");
+            } else {
+                System.out.println("Reopened a list of " + countNodes(list) + " nodes.");
+            }
+            printLinkedList(list);
+            System.out.println("The 2nd to last element is " + kthToLastElement(list, 2));
+            removeDuplicates(list);
+            printLinkedList(list);
+        }
+    }
+}
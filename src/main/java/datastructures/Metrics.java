@@ -0,0 +1,323 @@
+package datastructures;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/* Operation metrics for the data structures.
+ * Every instrumented operation (LinkedList.deleteNode, MyStack.pop, BinaryTree.insert, ...) has an Operation that
+ * counts its calls, the calls that failed (key not found, stack empty), the nodes it visited, the nodes it allocated,
+ * and keeps a histogram of its latency.
+ *
+ * Metrics are off unless the JVM is started with -Ddatastructures.metrics=true. ENABLED is a static final constant,
+ * so when it is false the JIT compiles the recording calls and the counting they need down to nothing.
+ * When they are on, every Operation is also registered as an MXBean named
+ * datastructures:type=Metrics,structure=<structure>,operation=<operation>, so it shows up in JConsole or
+ * VisualVM, and snapshot() returns the same numbers to code.
+ *
+ * Counters are LongAdders so that threads recording the same operation do not fight over one cache line.
+ */
+
+public final class Metrics {
+    static final boolean ENABLED = Boolean.getBoolean("datastructures.metrics");
+
+    private static final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    // The Operation for structure.name, created and registered with JMX the first time it is asked for
+    static Operation operation(String structure, String name) {
+        return operations.computeIfAbsent(structure + "." + name, key -> {
+            Operation operation = new Operation(structure, name);
+            if (ENABLED) register(operation);
+            return operation;
+        });
+    }
+
+    // Start time of an operation to pass to Operation.record, 0 when metrics are off
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    // The current numbers of every operation, sorted by structure.operation
+    static Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    static void reset() {
+        for (Operation operation : operations.values()) {
+            operation.reset();
+        }
+    }
+
+    private static void register(Operation operation) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName("datastructures:type=Metrics,structure=" + operation.structure
+                    + ",operation=" + operation.name);
+            if (!server.isRegistered(name)) server.registerMBean(operation, name);
+        } catch (JMException e) {
+            // Metrics still work through snapshot() without JMX
+            System.err.println("Could not register metrics for " + operation.structure + "." + operation.name + ": " + e);
+        }
+    }
+
+    public interface OperationMXBean {
+        long getCalls();
+
+        long getFailures();
+
+        long getNodesTraversed();
+
+        long getMaxNodesTraversed();
+
+        long getAllocations();
+
+        double getMeanLatencyNanos();
+
+        long getLatencyP50Nanos();
+
+        long getLatencyP99Nanos();
+
+        long getLatencyP999Nanos();
+
+        long getMaxLatencyNanos();
+
+        void reset();
+    }
+
+    public static final class Operation implements OperationMXBean {
+        final String structure;
+        final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder nodesTraversed = new LongAdder();
+        private final LongAccumulator maxNodesTraversed = new LongAccumulator(Math::max, 0);
+        private final LongAdder allocations = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private Operation(String structure, String name) {
+            this.structure = structure;
+            this.name = name;
+        }
+
+        // Records a call that started at start (from Metrics.start) and visited nodes nodes
+        void record(long start, long nodes) {
+            record(start, nodes, 0);
+        }
+
+        void record(long start, long nodes, long allocated) {
+            if (!ENABLED) return;
+            calls.increment();
+            nodesTraversed.add(nodes);
+            maxNodesTraversed.accumulate(nodes);
+            if (allocated != 0) allocations.add(allocated);
+            latency.record(System.nanoTime() - start);
+        }
+
+        // Records a call that did not find what it was looking for
+        void fail(long start, long nodes) {
+            if (!ENABLED) return;
+            failures.increment();
+            record(start, nodes, 0);
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(calls.sum(), failures.sum(), nodesTraversed.sum(), maxNodesTraversed.get(),
+                    allocations.sum(), latency.mean(), latency.percentile(0.5), latency.percentile(0.99),
+                    latency.percentile(0.999), latency.max());
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getNodesTraversed() {
+            return nodesTraversed.sum();
+        }
+
+        public long getMaxNodesTraversed() {
+            return maxNodesTraversed.get();
+        }
+
+        public long getAllocations() {
+            return allocations.sum();
+        }
+
+        public double getMeanLatencyNanos() {
+            return latency.mean();
+        }
+
+        public long getLatencyP50Nanos() {
+            return latency.percentile(0.5);
+        }
+
+        public long getLatencyP99Nanos() {
+            return latency.percentile(0.99);
+        }
+
+        public long getLatencyP999Nanos() {
+            return latency.percentile(0.999);
+        }
+
+        public long getMaxLatencyNanos() {
+            return latency.max();
+        }
+
+        public void reset() {
+            calls.reset();
+            failures.reset();
+            nodesTraversed.reset();
+            maxNodesTraversed.reset();
+            allocations.reset();
+            latency.reset();
+        }
+    }
+
+    // The numbers of one operation at one point in time
+    static final class Snapshot {
+        final long calls;
+        final long failures;
+        final long nodesTraversed;
+        final long maxNodesTraversed;
+        final long allocations;
+        final double meanLatencyNanos;
+        final long latencyP50Nanos;
+        final long latencyP99Nanos;
+        final long latencyP999Nanos;
+        final long maxLatencyNanos;
+
+        Snapshot(long calls, long failures, long nodesTraversed, long maxNodesTraversed, long allocations,
+                 double meanLatencyNanos, long latencyP50Nanos, long latencyP99Nanos, long latencyP999Nanos,
+                 long maxLatencyNanos) {
+            this.calls = calls;
+            this.failures = failures;
+            this.nodesTraversed = nodesTraversed;
+            this.maxNodesTraversed = maxNodesTraversed;
+            this.allocations = allocations;
+            this.meanLatencyNanos = meanLatencyNanos;
+            this.latencyP50Nanos = latencyP50Nanos;
+            this.latencyP99Nanos = latencyP99Nanos;
+            this.latencyP999Nanos = latencyP999Nanos;
+            this.maxLatencyNanos = maxLatencyNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "calls=" + calls + " failures=" + failures + " nodes=" + nodesTraversed
+                    + " maxNodes=" + maxNodesTraversed + " allocations=" + allocations
+                    + String.format(" mean=%.0fns", meanLatencyNanos) + " p50=" + latencyP50Nanos + "ns"
+                    + " p99=" + latencyP99Nanos + "ns p99.9=" + latencyP999Nanos + "ns max=" + maxLatencyNanos + "ns";
+        }
+    }
+
+    /* A latency histogram in the style of HdrHistogram.
+     * Values below 64 get a bucket each. Above that every power of two [2^k, 2^(k+1)) is split into 32 buckets of
+     * equal width, so a bucket is never wider than 1/32 of its values (about 3%) and the whole range of a long fits
+     * in under 2000 counters. Recording is one array increment, whatever the value.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 5;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder total = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        static int bucket(long value) {
+            if (value < 2 * SUB_BUCKETS) return (int) value;
+            int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+            return shift * SUB_BUCKETS + (int) (value >>> shift);
+        }
+
+        // Largest value that falls into the bucket
+        static long highestValue(int bucket) {
+            if (bucket < 2 * SUB_BUCKETS) return bucket;
+            int shift = bucket / SUB_BUCKETS - 1;
+            long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+            return ((subBucket + 1) << shift) - 1;
+        }
+
+        void record(long nanos) {
+            if (nanos < 0) nanos = 0;
+            counts.incrementAndGet(bucket(nanos));
+            total.increment();
+            sum.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        // The smallest recorded value that at least the given fraction of all values are less than or equal to,
+        // rounded up to the end of its bucket
+        long percentile(double fraction) {
+            long count = total.sum();
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= rank) return Math.min(highestValue(i), max.get());
+            }
+            return max.get();
+        }
+
+        double mean() {
+            long count = total.sum();
+            return count == 0 ? 0 : (double) sum.sum() / count;
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            total.reset();
+            sum.reset();
+            max.reset();
+        }
+    }
+
+    // Run with -Ddatastructures.metrics=true
+    public static void main(String[] args) {
+        if (!ENABLED) {
+            System.out.println("Metrics are off, start the JVM with -Ddatastructures.metrics=true");
+            return;
+        }
+        BinaryTree tree = new BinaryTree();
+        for (int i = 0; i < 100_000; i++) {
+            BinaryTree.insert(tree, i);
+        }
+        MyStack<Integer> stack = new MyStack<Integer>();
+        stack.push(1);
+        stack.pop();
+        try {
+            stack.pop();
+        } catch (java.util.EmptyStackException e) {
+            // Counted as a failure
+        }
+        for (Map.Entry<String, Snapshot> entry : snapshot().entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package datastructures;
+
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Public class MyStack of generic type T
+public class MyStack<T> implements Iterable<T> {
+    // StackNode class inherits generic type T
+    private static class StackNode<T> {
+        private T data;
+        private StackNode<T> next;
+
+        public StackNode(T item) {
+            this.data = item;
+        }
+    }
+    
+    private StackNode<T> top;
+
+    // Operation metrics, see Metrics. Nothing is recorded unless metrics are enabled.
+    private static final Metrics.Operation POP = Metrics.operation("MyStack", "pop");
+    private static final Metrics.Operation PUSH = Metrics.operation("MyStack", "push");
+
+    public T pop() {
+        long start = Metrics.start();
+        if (top == null) {
+            POP.fail(start, 0);
+            throw new EmptyStackException();
+        }
+        T item = top.data;
+        top = top.next;
+        POP.record(start, 1);
+        return item;
+    }
+
+    public void push(T item) {
+        long start = Metrics.start();
+        StackNode<T> t = new StackNode<T>(item);
+        t.next = top;
+        top = t;
+        PUSH.record(start, 0, 1);
+    }
+
+    public T peek() {
+        return top.data;
+    }
+
+    public boolean isEmpty() {
+        return top == null;
+    }
+
+    // Iterates from the top of the stack to the bottom, without popping
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private StackNode<T> next = top;
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            public T next() {
+                if (next == null) throw new NoSuchElementException();
+                T item = next.data;
+                next = next.next;
+                return item;
+            }
+        };
+    }
+
+    // Builds a stack from items given from the top down, the first item ends up on top
+    // This is the order iterator() returns them in, so a stack can be copied without reversing it first
+    static <T> MyStack<T> fromTopDown(Iterator<? extends T> items) {
+        MyStack<T> stack = new MyStack<T>();
+        StackNode<T> last = null;
+        while (items.hasNext()) {
+            StackNode<T> node = new StackNode<T>(items.next());
+            if (last == null) {
+                stack.top = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+        return stack;
+    }
+
+
+
+    public static void main(String[] args) {
+        MyStack<Integer> stack = new MyStack<Integer>();
+        Integer i1 = Integer.valueOf(1);
+        Integer i2 = Integer.valueOf(2);
+        Integer i3 = Integer.valueOf(3);
+        stack.push(i1);
+        stack.push(i2);
+        stack.push(i3);
+
+        System.out.println(stack.peek());
+    }
+
+}
@@ -0,0 +1,484 @@
+package datastructures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+/* A set of int keys stored as a B+ tree in a file, for data sets that do not fit on the heap.
+ * A BinaryTree node holds one key and every level of the tree is another node somewhere on the heap.
+ * Here a node is a PAGE_SIZE page of the file holding hundreds of keys, so a tree of a billion keys is only
+ * four or five levels high, and a lookup reads one page per level.
+ *
+ * Leaves hold the keys in sorted order and are linked left to right, so a range scan finds the first leaf and then
+ * walks the links. Internal pages hold separator keys: child i holds the keys k with keys[i-1] <= k < keys[i].
+ *
+ * Only cachePages pages are kept in memory. When a page is needed that is not cached, the CLOCK algorithm picks a
+ * page that has not been used since the clock hand last passed it, writes it back if it was changed, and reuses its
+ * buffer. The root and the upper levels are used by every operation, so in practice they stay cached.
+ * Pages that an operation is still working on are pinned and never evicted.
+ *
+ * Deleting a key only removes it from its leaf: pages are not merged, so the tree never gets lower, and the
+ * space of emptied leaves is not reused.
+ *
+ * Changes reach the file when their pages are evicted, and all of them when flush or close is called.
+ *
+ * File layout (all ints):
+ * Page 0 is the header: magic, version, root page, page count, height, number of keys.
+ * Leaf page: type (LEAF), count, next leaf page (0 at the end), keys[count].
+ * Internal page: type (INTERNAL), count, unused, keys[count], children[count+1].
+ */
+
+class PagedBPlusTree implements Closeable {
+    static final int PAGE_SIZE = 4096;
+    static final int MAGIC = 0x42505431; // "BPT1"
+    static final int VERSION = 1;
+
+    private static final int LEAF = 1;
+    private static final int INTERNAL = 2;
+
+    // Offsets inside a page
+    private static final int TYPE = 0;
+    private static final int COUNT = 4;
+    private static final int NEXT = 8;
+    private static final int KEYS = 12;
+
+    static final int LEAF_CAPACITY = (PAGE_SIZE - KEYS) / 4;
+    static final int INTERNAL_CAPACITY = (PAGE_SIZE - KEYS - 4) / 8;
+    private static final int CHILDREN = KEYS + INTERNAL_CAPACITY * 4;
+
+    // Header fields
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_ROOT = 8;
+    private static final int HEADER_PAGE_COUNT = 12;
+    private static final int HEADER_HEIGHT = 16;
+    private static final int HEADER_SIZE = 20;
+
+    FileChannel channel;
+    int root;
+    int pageCount;
+    int height;
+    long size;
+
+    // Number of pages read from and written to the file
+    long pageReads;
+    long pageWrites;
+
+    // The page cache
+    private static class Frame {
+        int page = -1;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(PAGE_SIZE);
+        boolean dirty;
+        boolean referenced;
+        int pins;
+    }
+
+    private final Frame[] frames;
+    private final HashMap<Integer, Frame> cached = new HashMap<>();
+    private int clockHand;
+
+    private PagedBPlusTree(FileChannel channel, int cachePages) {
+        this.channel = channel;
+        frames = new Frame[Math.max(cachePages, 16)];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = new Frame();
+        }
+    }
+
+    // Opens the tree stored in the file, or creates an empty one, keeping at most cachePages pages in memory
+    static PagedBPlusTree open(Path path, int cachePages) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PagedBPlusTree tree = new PagedBPlusTree(channel, cachePages);
+        if (channel.size() == 0) {
+            tree.pageCount = 1;
+            tree.root = tree.newPage(LEAF);
+            tree.height = 1;
+            tree.writeHeader();
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE);
+            channel.read(header, 0);
+            if (header.getInt(HEADER_MAGIC) != MAGIC || header.getInt(HEADER_VERSION) != VERSION) {
+                channel.close();
+                throw new IOException(path + " is not a PagedBPlusTree file");
+            }
+            tree.root = header.getInt(HEADER_ROOT);
+            tree.pageCount = header.getInt(HEADER_PAGE_COUNT);
+            tree.height = header.getInt(HEADER_HEIGHT);
+            tree.size = header.getLong(HEADER_SIZE);
+        }
+        return tree;
+    }
+
+    // Writes every changed page and the header to the file and forces them to disk
+    static void flush(PagedBPlusTree tree) {
+        try {
+            for (Frame frame : tree.frames) {
+                if (frame.dirty) tree.writeBack(frame);
+            }
+            tree.writeHeader();
+            tree.channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush(this);
+        channel.close();
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE);
+        header.putInt(HEADER_MAGIC, MAGIC);
+        header.putInt(HEADER_VERSION, VERSION);
+        header.putInt(HEADER_ROOT, root);
+        header.putInt(HEADER_PAGE_COUNT, pageCount);
+        header.putInt(HEADER_HEIGHT, height);
+        header.putLong(HEADER_SIZE, size);
+        channel.write(header, 0);
+    }
+
+    // Page cache
+
+    // Returns the cached page, reading it if needed. Every pin must be followed by an unpin.
+    private ByteBuffer pin(int page) {
+        Frame frame = cached.get(page);
+        if (frame == null) {
+            frame = victim();
+            if (frame.page >= 0) cached.remove(frame.page);
+            frame.page = page;
+            frame.buffer.clear();
+            try {
+                while (frame.buffer.hasRemaining()) {
+                    if (channel.read(frame.buffer, (long) page * PAGE_SIZE + frame.buffer.position()) < 0) break;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pageReads++;
+            cached.put(page, frame);
+        }
+        frame.pins++;
+        frame.referenced = true;
+        return frame.buffer;
+    }
+
+    private void unpin(int page, boolean changed) {
+        Frame frame = cached.get(page);
+        frame.pins--;
+        if (changed) frame.dirty = true;
+    }
+
+    // Picks the frame to reuse with the CLOCK algorithm, writing it back first if it was changed
+    private Frame victim() {
+        for (int step = 0; step < 2 * frames.length + 1; step++) {
+            Frame frame = frames[clockHand];
+            clockHand = (clockHand + 1) % frames.length;
+            if (frame.pins > 0) continue;
+            if (frame.referenced) {
+                frame.referenced = false;
+                continue;
+            }
+            if (frame.dirty) {
+                try {
+                    writeBack(frame);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return frame;
+        }
+        throw new IllegalStateException("Every cached page is pinned, the cache is too small");
+    }
+
+    private void writeBack(Frame frame) throws IOException {
+        ByteBuffer buffer = frame.buffer.duplicate();
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, (long) frame.page * PAGE_SIZE + buffer.position());
+        }
+        frame.dirty = false;
+        pageWrites++;
+    }
+
+    // Adds an empty page of the given type at the end of the file and returns its number, the page is not pinned
+    private int newPage(int type) {
+        int page = pageCount++;
+        Frame frame = victim();
+        if (frame.page >= 0) cached.remove(frame.page);
+        frame.page = page;
+        ByteBuffer buffer = frame.buffer;
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            buffer.putLong(0);
+        }
+        buffer.putInt(TYPE, type);
+        frame.dirty = true;
+        frame.referenced = true;
+        cached.put(page, frame);
+        return page;
+    }
+
+    // Page helpers
+
+    private static int count(ByteBuffer page) {
+        return page.getInt(COUNT);
+    }
+
+    private static int key(ByteBuffer page, int i) {
+        return page.getInt(KEYS + 4 * i);
+    }
+
+    private static void key(ByteBuffer page, int i, int key) {
+        page.putInt(KEYS + 4 * i, key);
+    }
+
+    private static int child(ByteBuffer page, int i) {
+        return page.getInt(CHILDREN + 4 * i);
+    }
+
+    private static void child(ByteBuffer page, int i, int child) {
+        page.putInt(CHILDREN + 4 * i, child);
+    }
+
+    // Index of the first key >= key
+    private static int lowerBound(ByteBuffer page, int key) {
+        int low = 0;
+        int high = count(page);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key(page, mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Index of the child that holds key, the number of separators <= key
+    private static int childIndex(ByteBuffer page, int key) {
+        int low = 0;
+        int high = count(page);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key(page, mid) <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Moves count ints inside the page, the ranges may overlap
+    private static void moveInts(ByteBuffer page, int from, int to, int count) {
+        if (to > from) {
+            for (int i = count - 1; i >= 0; i--) page.putInt(to + 4 * i, page.getInt(from + 4 * i));
+        } else {
+            for (int i = 0; i < count; i++) page.putInt(to + 4 * i, page.getInt(from + 4 * i));
+        }
+    }
+
+    // Returns the leaf page that would hold the key
+    private int findLeaf(int key) {
+        int page = root;
+        for (int level = 1; level < height; level++) {
+            ByteBuffer buffer = pin(page);
+            int next = child(buffer, childIndex(buffer, key));
+            unpin(page, false);
+            page = next;
+        }
+        return page;
+    }
+
+    // Checks if the key is in the tree
+    static boolean contains(PagedBPlusTree tree, int key) {
+        int leaf = tree.findLeaf(key);
+        ByteBuffer buffer = tree.pin(leaf);
+        int i = lowerBound(buffer, key);
+        boolean found = i < count(buffer) && key(buffer, i) == key;
+        tree.unpin(leaf, false);
+        return found;
+    }
+
+    // Visits the keys in [low, high] in increasing order, returns false if the visitor stopped early
+    static boolean range(PagedBPlusTree tree, int low, int high, TreeTraversal.IntVisitor visitor) {
+        int leaf = tree.findLeaf(low);
+        ByteBuffer buffer = tree.pin(leaf);
+        int i = lowerBound(buffer, low);
+        while (true) {
+            for (; i < count(buffer); i++) {
+                int key = key(buffer, i);
+                if (key > high || !visitor.visit(key)) {
+                    tree.unpin(leaf, false);
+                    return key > high;
+                }
+            }
+            int next = buffer.getInt(NEXT);
+            tree.unpin(leaf, false);
+            if (next == 0) return true;
+            leaf = next;
+            buffer = tree.pin(leaf);
+            i = 0;
+        }
+    }
+
+    // Inserts the key, returns false if it was already in the tree
+    static boolean insert(PagedBPlusTree tree, int key) {
+        long before = tree.size;
+        long split = tree.insert(tree.root, key, 1);
+        if (split != NO_SPLIT) {
+            // The root was split, the tree grows by one level
+            int newRoot = tree.newPage(INTERNAL);
+            ByteBuffer buffer = tree.pin(newRoot);
+            buffer.putInt(COUNT, 1);
+            key(buffer, 0, (int) (split >> 32));
+            child(buffer, 0, tree.root);
+            child(buffer, 1, (int) split);
+            tree.unpin(newRoot, true);
+            tree.root = newRoot;
+            tree.height++;
+        }
+        return tree.size != before;
+    }
+
+    // A split is returned as (separator key << 32) | new page
+    private static final long NO_SPLIT = -1L;
+
+    private static long split(int separator, int page) {
+        return ((long) separator << 32) | (page & 0xFFFFFFFFL);
+    }
+
+    private long insert(int page, int key, int level) {
+        // The page stays pinned until the child below it has been dealt with
+        ByteBuffer buffer = pin(page);
+        if (level == height) {
+            return insertIntoLeaf(page, buffer, key);
+        }
+        int index = childIndex(buffer, key);
+        long childSplit = insert(child(buffer, index), key, level + 1);
+        if (childSplit == NO_SPLIT) {
+            unpin(page, false);
+            return NO_SPLIT;
+        }
+        return insertIntoInternal(page, buffer, index, (int) (childSplit >> 32), (int) childSplit);
+    }
+
+    private long insertIntoLeaf(int page, ByteBuffer buffer, int key) {
+        int count = count(buffer);
+        int i = lowerBound(buffer, key);
+        if (i < count && key(buffer, i) == key) {
+            unpin(page, false);
+            return NO_SPLIT;
+        }
+        size++;
+        if (count < LEAF_CAPACITY) {
+            moveInts(buffer, KEYS + 4 * i, KEYS + 4 * (i + 1), count - i);
+            key(buffer, i, key);
+            buffer.putInt(COUNT, count + 1);
+            unpin(page, true);
+            return NO_SPLIT;
+        }
+
+        // Split: the upper half moves to a new leaf linked after this one
+        int rightPage = newPage(LEAF);
+        ByteBuffer right = pin(rightPage);
+        int keep = (count + 1) / 2;
+        // Work on count + 1 keys as if the new key were already in place
+        int[] keys = new int[count + 1];
+        for (int j = 0, k = 0; j <= count; j++) {
+            keys[j] = j == i ? key : key(buffer, k++);
+        }
+        for (int j = 0; j < keep; j++) key(buffer, j, keys[j]);
+        for (int j = keep; j <= count; j++) key(right, j - keep, keys[j]);
+        buffer.putInt(COUNT, keep);
+        right.putInt(COUNT, count + 1 - keep);
+        right.putInt(NEXT, buffer.getInt(NEXT));
+        buffer.putInt(NEXT, rightPage);
+        int separator = keys[keep];
+        unpin(rightPage, true);
+        unpin(page, true);
+        return split(separator, rightPage);
+    }
+
+    // Puts the separator and the new child after child index, splitting the page if it is full
+    private long insertIntoInternal(int page, ByteBuffer buffer, int index, int separator, int newChild) {
+        int count = count(buffer);
+        if (count < INTERNAL_CAPACITY) {
+            moveInts(buffer, KEYS + 4 * index, KEYS + 4 * (index + 1), count - index);
+            moveInts(buffer, CHILDREN + 4 * (index + 1), CHILDREN + 4 * (index + 2), count - index);
+            key(buffer, index, separator);
+            child(buffer, index + 1, newChild);
+            buffer.putInt(COUNT, count + 1);
+            unpin(page, true);
+            return NO_SPLIT;
+        }
+
+        int[] keys = new int[count + 1];
+        int[] children = new int[count + 2];
+        for (int j = 0, k = 0; j <= count; j++) {
+            keys[j] = j == index ? separator : key(buffer, k++);
+        }
+        for (int j = 0, k = 0; j <= count + 1; j++) {
+            children[j] = j == index + 1 ? newChild : child(buffer, k++);
+        }
+        // The middle key moves up, the keys after it go to a new page
+        int middle = (count + 1) / 2;
+        int rightPage = newPage(INTERNAL);
+        ByteBuffer right = pin(rightPage);
+        for (int j = 0; j < middle; j++) key(buffer, j, keys[j]);
+        for (int j = 0; j <= middle; j++) child(buffer, j, children[j]);
+        buffer.putInt(COUNT, middle);
+        int rightCount = count - middle;
+        for (int j = 0; j < rightCount; j++) key(right, j, keys[middle + 1 + j]);
+        for (int j = 0; j <= rightCount; j++) child(right, j, children[middle + 1 + j]);
+        right.putInt(COUNT, rightCount);
+        unpin(rightPage, true);
+        unpin(page, true);
+        return split(keys[middle], rightPage);
+    }
+
+    // Removes the key from its leaf, returns false if it was not in the tree
+    static boolean delete(PagedBPlusTree tree, int key) {
+        int leaf = tree.findLeaf(key);
+        ByteBuffer buffer = tree.pin(leaf);
+        int count = count(buffer);
+        int i = lowerBound(buffer, key);
+        if (i == count || key(buffer, i) != key) {
+            tree.unpin(leaf, false);
+            return false;
+        }
+        moveInts(buffer, KEYS + 4 * (i + 1), KEYS + 4 * i, count - i - 1);
+        buffer.putInt(COUNT, count - 1);
+        tree.unpin(leaf, true);
+        tree.size--;
+        return true;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Paths.get(args[0]) : Paths.get("tree.bpt");
+        try (PagedBPlusTree tree = open(path, 64)) {
+            for (int i = 0; i < 1_000_000; i++) {
+                insert(tree, i * 3);
+            }
+            System.out.println("Keys: " + tree.size + ", height: " + tree.height + ", pages: " + tree.pageCount);
+            long reads = tree.pageReads;
+            System.out.println("Contains 2999997: " + contains(tree, 2_999_997) + ", contains 2999998: " + contains(tree, 2_999_998));
+            System.out.println("Pages read by the lookups: " + (tree.pageReads - reads));
+            range(tree, 100, 120, key -> {
+                System.out.print(key + " ");
+                return true;
+            });
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package datastructures;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+
+/* Whole-tree computations on a BinaryTree spread over a ForkJoinPool.
+ * The top of the tree is split into tasks: a task for a node forks one for its left subtree, works on its right
+ * subtree itself and then combines both results with the node's own value. Below the split each subtree is aggregated
+ * sequentially with the iterative traversals, so there is no recursion and no task per node.
+ * A tree that keeps its subtree sizes (BinaryTree.counted) is split by size: a subtree with more than splitSize nodes
+ * is split, a smaller one is a task of its own. splitSize gives about 16 tasks per worker, so uneven subtrees even out,
+ * and MAX_SPLIT_DEPTH bounds the recursion in trees that are far from balanced. Any other tree has no reliable sizes
+ * and is split by depth: the top splitDepth levels, 2^splitDepth subtrees.
+ *
+ * Results are always combined in the same order (left, node, right), so they do not depend on which thread ran which
+ * task or on the number of threads.
+ *
+ * The sequential parts use Morris threading, which only changes links inside the subtree being walked, so tasks on
+ * different subtrees do not get in each other's way. The tree must not be used by anything else while this runs.
+ */
+
+class ParallelTreeAggregation {
+    // Subtrees of at most this many nodes are never split, smaller tasks cost more to fork than they save
+    static final int MIN_SPLIT_SIZE = 1024;
+    // Deepest split when splitting by size
+    static final int MAX_SPLIT_DEPTH = 64;
+
+    // Default number of levels to split: enough tasks for about 16 per worker
+    static int defaultSplitDepth(ForkJoinPool pool) {
+        return 32 - Integer.numberOfLeadingZeros(pool.getParallelism() * 16 - 1);
+    }
+
+    // Default subtree size to stop splitting at: enough tasks for about 16 per worker
+    static int defaultSplitSize(BinaryTree tree, ForkJoinPool pool) {
+        return Math.max(MIN_SPLIT_SIZE, BinaryTree.size(tree.root) / (pool.getParallelism() * 16));
+    }
+
+    // Where a task stops splitting and works on its subtree sequentially: depth levels below the root or, if size is
+    // positive, at a subtree of at most size nodes
+    private static final class Split {
+        final int depth;
+        final int size;
+
+        Split(int depth, int size) {
+            this.depth = depth;
+            this.size = size;
+        }
+
+        boolean isSequential(BinaryTree.Node node, int nodeDepth) {
+            return node == null || nodeDepth >= depth || BinaryTree.size(node) <= size;
+        }
+    }
+
+    // By size if the tree keeps its subtree sizes, by depth otherwise
+    private static Split defaultSplit(BinaryTree tree, ForkJoinPool pool) {
+        if (!tree.counted) return new Split(defaultSplitDepth(pool), 0);
+        return new Split(MAX_SPLIT_DEPTH, defaultSplitSize(tree, pool));
+    }
+
+    // What to compute: the result of a subtree computed sequentially, and how to combine two subtrees with their parent
+    interface Fold<R> {
+        R sequential(BinaryTree.Node subtree);
+
+        R combine(R left, int value, R right);
+    }
+
+    // Tasks are never serialized, like the JDK's own fork-join tasks, so their fields need not be serializable
+    @SuppressWarnings("serial")
+    private static class FoldTask<R> extends RecursiveTask<R> {
+        private final Fold<R> fold;
+        private final BinaryTree.Node node;
+        private final int depth;
+        private final Split split;
+
+        FoldTask(Fold<R> fold, BinaryTree.Node node, int depth, Split split) {
+            this.fold = fold;
+            this.node = node;
+            this.depth = depth;
+            this.split = split;
+        }
+
+        @Override
+        protected R compute() {
+            if (split.isSequential(node, depth)) {
+                return fold.sequential(node);
+            }
+            FoldTask<R> left = new FoldTask<R>(fold, node.leftChild, depth + 1, split);
+            FoldTask<R> right = new FoldTask<R>(fold, node.rightChild, depth + 1, split);
+            left.fork();
+            R rightResult = right.compute();
+            return fold.combine(left.join(), node.data, rightResult);
+        }
+    }
+
+    // Splits the top splitDepth levels, whether or not the tree keeps its subtree sizes
+    static <R> R aggregate(BinaryTree tree, Fold<R> fold, ForkJoinPool pool, int splitDepth) {
+        return pool.invoke(new FoldTask<R>(fold, tree.root, 0, new Split(splitDepth, 0)));
+    }
+
+    static <R> R aggregate(BinaryTree tree, Fold<R> fold, ForkJoinPool pool) {
+        return pool.invoke(new FoldTask<R>(fold, tree.root, 0, defaultSplit(tree, pool)));
+    }
+
+    static <R> R aggregate(BinaryTree tree, Fold<R> fold) {
+        return aggregate(tree, fold, ForkJoinPool.commonPool());
+    }
+
+    // Number of nodes
+    static long count(BinaryTree tree) {
+        return aggregate(tree, new Fold<Long>() {
+            public Long sequential(BinaryTree.Node subtree) {
+                return (long) TreeTraversal.countNodes(subtree);
+            }
+
+            public Long combine(Long left, int value, Long right) {
+                return left + 1 + right;
+            }
+        });
+    }
+
+    // Sum of all values
+    static long sum(BinaryTree tree) {
+        return aggregate(tree, new Fold<Long>() {
+            public Long sequential(BinaryTree.Node subtree) {
+                long[] sum = new long[1];
+                TreeTraversal.inOrder(subtree, value -> {
+                    sum[0] += value;
+                    return true;
+                });
+                return sum[0];
+            }
+
+            public Long combine(Long left, int value, Long right) {
+                return left + value + right;
+            }
+        });
+    }
+
+    // Number of levels, 0 for an empty tree
+    static int height(BinaryTree tree) {
+        return aggregate(tree, new Fold<Integer>() {
+            public Integer sequential(BinaryTree.Node subtree) {
+                return levels(subtree);
+            }
+
+            public Integer combine(Integer left, int value, Integer right) {
+                return 1 + Math.max(left, right);
+            }
+        });
+    }
+
+    // Counts the levels of a subtree one level at a time
+    private static int levels(BinaryTree.Node subtree) {
+        if (subtree == null) return 0;
+        ArrayDeque<BinaryTree.Node> level = new ArrayDeque<>();
+        level.add(subtree);
+        int height = 0;
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                BinaryTree.Node node = level.poll();
+                if (node.leftChild != null) level.add(node.leftChild);
+                if (node.rightChild != null) level.add(node.rightChild);
+            }
+        }
+        return height;
+    }
+
+    // Smallest and largest value as {min, max}, or null for an empty tree
+    // The tree does not have to be a search tree
+    private static int[] minMax(BinaryTree tree) {
+        return aggregate(tree, new Fold<int[]>() {
+            public int[] sequential(BinaryTree.Node subtree) {
+                if (subtree == null) return null;
+                int[] minMax = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+                TreeTraversal.inOrder(subtree, value -> {
+                    if (value < minMax[0]) minMax[0] = value;
+                    if (value > minMax[1]) minMax[1] = value;
+                    return true;
+                });
+                return minMax;
+            }
+
+            public int[] combine(int[] left, int value, int[] right) {
+                int[] minMax = {value, value};
+                for (int[] side : new int[][] {left, right}) {
+                    if (side != null) {
+                        minMax[0] = Math.min(minMax[0], side[0]);
+                        minMax[1] = Math.max(minMax[1], side[1]);
+                    }
+                }
+                return minMax;
+            }
+        });
+    }
+
+    static OptionalInt min(BinaryTree tree) {
+        int[] minMax = minMax(tree);
+        return minMax == null ? OptionalInt.empty() : OptionalInt.of(minMax[0]);
+    }
+
+    static OptionalInt max(BinaryTree tree) {
+        int[] minMax = minMax(tree);
+        return minMax == null ? OptionalInt.empty() : OptionalInt.of(minMax[1]);
+    }
+
+    /* collect runs in two passes over the same split. The first collects the matches of every sequential subtree
+     * into an array of its own and counts the matches below every split node. The counts give each subtree its offset
+     * in the result, and the second pass copies every subtree's matches straight to that offset in one shared array.
+     * Each match is copied once, where combining arrays would copy it again on every level on its way up.
+     */
+
+    // One node of the split: a subtree that was collected sequentially, or a split node with its two halves
+    private static final class CollectPart {
+        final BinaryTree.Node node;
+        // Both null for a sequential subtree
+        CollectPart left;
+        CollectPart right;
+        // The matches of a sequential subtree, in in-order
+        int[] matches;
+        // Whether the value of a split node matches
+        boolean keep;
+        // Number of matches in the whole subtree
+        int count;
+
+        CollectPart(BinaryTree.Node node) {
+            this.node = node;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class CountTask extends RecursiveAction {
+        private final CollectPart part;
+        private final IntPredicate filter;
+        private final int depth;
+        private final Split split;
+
+        CountTask(CollectPart part, IntPredicate filter, int depth, Split split) {
+            this.part = part;
+            this.filter = filter;
+            this.depth = depth;
+            this.split = split;
+        }
+
+        @Override
+        protected void compute() {
+            BinaryTree.Node node = part.node;
+            if (split.isSequential(node, depth)) {
+                part.matches = matches(node, filter);
+                part.count = part.matches.length;
+                return;
+            }
+            part.left = new CollectPart(node.leftChild);
+            part.right = new CollectPart(node.rightChild);
+            CountTask left = new CountTask(part.left, filter, depth + 1, split);
+            left.fork();
+            new CountTask(part.right, filter, depth + 1, split).compute();
+            part.keep = filter.test(node.data);
+            left.join();
+            part.count = part.left.count + (part.keep ? 1 : 0) + part.right.count;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class FillTask extends RecursiveAction {
+        private final CollectPart part;
+        private final int[] values;
+        private final int offset;
+
+        FillTask(CollectPart part, int[] values, int offset) {
+            this.part = part;
+            this.values = values;
+            this.offset = offset;
+        }
+
+        @Override
+        protected void compute() {
+            if (part.matches != null) {
+                System.arraycopy(part.matches, 0, values, offset, part.count);
+                return;
+            }
+            FillTask left = new FillTask(part.left, values, offset);
+            left.fork();
+            int next = offset + part.left.count;
+            if (part.keep) values[next++] = part.node.data;
+            new FillTask(part.right, values, next).compute();
+            left.join();
+        }
+    }
+
+    // The values of a subtree that match the filter, in in-order
+    private static int[] matches(BinaryTree.Node subtree, IntPredicate filter) {
+        int[][] buffer = {new int[16]};
+        int[] count = new int[1];
+        TreeTraversal.inOrder(subtree, value -> {
+            if (filter.test(value)) {
+                if (count[0] == buffer[0].length) {
+                    buffer[0] = Arrays.copyOf(buffer[0], count[0] * 2);
+                }
+                buffer[0][count[0]++] = value;
+            }
+            return true;
+        });
+        return Arrays.copyOf(buffer[0], count[0]);
+    }
+
+    // The values that match the filter, in in-order
+    static int[] collect(BinaryTree tree, IntPredicate filter, ForkJoinPool pool) {
+        CollectPart whole = new CollectPart(tree.root);
+        pool.invoke(new CountTask(whole, filter, 0, defaultSplit(tree, pool)));
+        int[] values = new int[whole.count];
+        pool.invoke(new FillTask(whole, values, 0));
+        return values;
+    }
+
+    static int[] collect(BinaryTree tree, IntPredicate filter) {
+        return collect(tree, filter, ForkJoinPool.commonPool());
+    }
+
+    public static void main(String[] args) {
+        BinaryTree tree = new BinaryTree();
+        for (int i = 1; i <= 1_000_000; i++) {
+            BinaryTree.insert(tree, i);
+        }
+        System.out.println("Count: " + count(tree));
+        System.out.println("Sum: " + sum(tree));
+        System.out.println("Height: " + height(tree));
+        System.out.println("Min: " + min(tree).getAsInt() + ", max: " + max(tree).getAsInt());
+        System.out.println("Multiples of 100000: " + Arrays.toString(collect(tree, value -> value % 100_000 == 0)));
+
+        // The same results on any number of threads, split by size and, with the sizes ignored, by depth
+        int[] expected = BinaryTree.stream(tree).filter(value -> value % 3 == 0).toArray();
+        boolean same = true;
+        for (int threads : new int[] {1, 4, 32}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for (boolean counted : new boolean[] {true, false}) {
+                tree.counted = counted;
+                same &= Arrays.equals(collect(tree, value -> value % 3 == 0, pool), expected);
+            }
+            pool.shutdown();
+        }
+        tree.counted = true;
+        System.out.println("Collect matches the sequential stream: " + same);
+        if (!same) throw new AssertionError("collect depends on the split or the number of threads");
+    }
+}
@@ -0,0 +1,357 @@
+package datastructures;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/* A balanced search tree whose versions never change, for many readers and a writer at the same time.
+ * In a BinaryTree, insert and delete relink leftChild and rightChild in place, so a thread reading the tree at the
+ * same time can see it half rotated. Here a node is never changed after it is created. An update copies only the
+ * nodes on the path from the root down to the change (O(Log n) nodes, the tree is an AVL tree like BinaryTree.insert
+ * keeps), shares every other subtree with the previous version, and then publishes the new root with one atomic
+ * compareAndSet. Until then nobody can see the copies.
+ *
+ * A Snapshot is just a root. Taking one is a single read, and a snapshot can be searched and traversed without any
+ * lock for as long as it is held, while updates go on: it simply keeps seeing the version it was taken from.
+ * Nothing else points to an old version, so the nodes only it used are collected by the GC once the last
+ * snapshot of it is dropped.
+ *
+ * Updates are meant to come from one writer. Several writers are still correct: an update whose compareAndSet lost
+ * is redone on the newer root.
+ */
+
+class PersistentTree {
+
+    private static final class Node {
+        final int data;
+        final Node leftChild;
+        final Node rightChild;
+        final int height;
+        final int size; // Number of nodes in the subtree
+
+        Node(int data, Node leftChild, Node rightChild) {
+            this.data = data;
+            this.leftChild = leftChild;
+            this.rightChild = rightChild;
+            height = 1 + Math.max(height(leftChild), height(rightChild));
+            size = 1 + size(leftChild) + size(rightChild);
+        }
+    }
+
+    private final AtomicReference<Node> root = new AtomicReference<>();
+
+    PersistentTree() {
+    }
+
+    // A persistent copy of a binary search tree, built balanced in O(n)
+    static PersistentTree copyOf(BinaryTree tree) {
+        int[] sorted = TreeTraversal.toArray(tree.root, TreeTraversal.Mode.INORDER);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] >= sorted[i]) {
+                throw new IllegalArgumentException("The tree is not a binary search tree of distinct keys");
+            }
+        }
+        PersistentTree copy = new PersistentTree();
+        copy.root.set(build(sorted, 0, sorted.length));
+        return copy;
+    }
+
+    private static Node build(int[] sorted, int from, int to) {
+        if (from >= to) return null;
+        int middle = (from + to) >>> 1;
+        return new Node(sorted[middle], build(sorted, from, middle), build(sorted, middle + 1, to));
+    }
+
+    // The current version, O(1)
+    Snapshot snapshot() {
+        return new Snapshot(root.get());
+    }
+
+    // Inserts the key, returns false if it was already in the tree
+    boolean insert(int key) {
+        while (true) {
+            Node current = root.get();
+            if (contains(current, key)) return false;
+            if (root.compareAndSet(current, insert(current, key))) return true;
+        }
+    }
+
+    // Deletes the key, returns false if it was not in the tree
+    boolean delete(int key) {
+        while (true) {
+            Node current = root.get();
+            if (!contains(current, key)) return false;
+            if (root.compareAndSet(current, delete(current, key))) return true;
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static boolean contains(Node node, int key) {
+        while (node != null) {
+            if (key < node.data) {
+                node = node.leftChild;
+            } else if (key > node.data) {
+                node = node.rightChild;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The same steps as BinaryTree.insert and BinaryTree.delete, except that every node on the way is replaced by a
+    // new one instead of being changed
+
+    private static Node insert(Node node, int key) {
+        if (node == null) return new Node(key, null, null);
+        if (key < node.data) {
+            return balance(node.data, insert(node.leftChild, key), node.rightChild);
+        }
+        return balance(node.data, node.leftChild, insert(node.rightChild, key));
+    }
+
+    private static Node delete(Node node, int key) {
+        if (key < node.data) {
+            return balance(node.data, delete(node.leftChild, key), node.rightChild);
+        } else if (key > node.data) {
+            return balance(node.data, node.leftChild, delete(node.rightChild, key));
+        } else if (node.leftChild == null) {
+            return node.rightChild;
+        } else if (node.rightChild == null) {
+            return node.leftChild;
+        }
+        Node successor = node.rightChild;
+        while (successor.leftChild != null) {
+            successor = successor.leftChild;
+        }
+        return balance(successor.data, node.leftChild, delete(node.rightChild, successor.data));
+    }
+
+    // A new node for data with the given children, rotated if their heights differ by more than one
+    private static Node balance(int data, Node left, Node right) {
+        int balance = height(left) - height(right);
+        if (balance > 1) {
+            if (height(left.leftChild) < height(left.rightChild)) {
+                left = rotateLeft(left.data, left.leftChild, left.rightChild);
+            }
+            return rotateRight(data, left, right);
+        }
+        if (balance < -1) {
+            if (height(right.rightChild) < height(right.leftChild)) {
+                right = rotateRight(right.data, right.leftChild, right.rightChild);
+            }
+            return rotateLeft(data, left, right);
+        }
+        return new Node(data, left, right);
+    }
+
+    private static Node rotateRight(int data, Node left, Node right) {
+        return new Node(left.data, left.leftChild, new Node(data, left.rightChild, right));
+    }
+
+    private static Node rotateLeft(int data, Node left, Node right) {
+        return new Node(right.data, new Node(data, left, right.leftChild), right.rightChild);
+    }
+
+    /* One version of the tree. It never changes, so any number of threads can read it without locks.
+     */
+    static final class Snapshot {
+        private final Node root;
+
+        private Snapshot(Node root) {
+            this.root = root;
+        }
+
+        int size() {
+            return PersistentTree.size(root);
+        }
+
+        int height() {
+            return PersistentTree.height(root);
+        }
+
+        boolean contains(int key) {
+            return PersistentTree.contains(root, key);
+        }
+
+        // The largest key less than or equal to key, or defaultValue if there is none
+        int floor(int key, int defaultValue) {
+            int best = defaultValue;
+            for (Node node = root; node != null; ) {
+                if (key < node.data) {
+                    node = node.leftChild;
+                } else if (key > node.data) {
+                    best = node.data;
+                    node = node.rightChild;
+                } else {
+                    return node.data;
+                }
+            }
+            return best;
+        }
+
+        // The smallest key greater than or equal to key, or defaultValue if there is none
+        int ceiling(int key, int defaultValue) {
+            int best = defaultValue;
+            for (Node node = root; node != null; ) {
+                if (key > node.data) {
+                    node = node.rightChild;
+                } else if (key < node.data) {
+                    best = node.data;
+                    node = node.leftChild;
+                } else {
+                    return node.data;
+                }
+            }
+            return best;
+        }
+
+        // Number of keys less than key
+        int rank(int key) {
+            int rank = 0;
+            for (Node node = root; node != null; ) {
+                if (key <= node.data) {
+                    node = node.leftChild;
+                } else {
+                    rank += PersistentTree.size(node.leftChild) + 1;
+                    node = node.rightChild;
+                }
+            }
+            return rank;
+        }
+
+        // Visits the keys in increasing order, returns false if the visitor stopped early
+        boolean inOrder(TreeTraversal.IntVisitor visitor) {
+            ArrayDeque<Node> stack = new ArrayDeque<>(PersistentTree.height(root));
+            Node node = root;
+            while (node != null || !stack.isEmpty()) {
+                for (; node != null; node = node.leftChild) {
+                    stack.push(node);
+                }
+                node = stack.pop();
+                if (!visitor.visit(node.data)) return false;
+                node = node.rightChild;
+            }
+            return true;
+        }
+
+        // The keys in increasing order as an IntStream, which can run in parallel
+        IntStream stream() {
+            return StreamSupport.intStream(new SnapshotSpliterator(root), false);
+        }
+    }
+
+    // Like TreeSpliterator, but the subtree sizes make every estimate exact
+    private static final class SnapshotSpliterator implements Spliterator.OfInt {
+        private ArrayDeque<Node> stack = new ArrayDeque<>();
+        private long remaining;
+
+        SnapshotSpliterator(Node root) {
+            remaining = size(root);
+            pushLeftEdge(root);
+        }
+
+        private SnapshotSpliterator(ArrayDeque<Node> stack, long remaining) {
+            this.stack = stack;
+            this.remaining = remaining;
+        }
+
+        private void pushLeftEdge(Node node) {
+            for (; node != null; node = node.leftChild) {
+                stack.push(node);
+            }
+        }
+
+        public boolean tryAdvance(IntConsumer action) {
+            Node node = stack.poll();
+            if (node == null) return false;
+            pushLeftEdge(node.rightChild);
+            remaining--;
+            action.accept(node.data);
+            return true;
+        }
+
+        public Spliterator.OfInt trySplit() {
+            if (stack.size() == 1) {
+                Node last = stack.peek();
+                if (last.rightChild == null) return null;
+                stack.pop();
+                pushLeftEdge(last.rightChild);
+                remaining--;
+                return Spliterators.spliterator(new int[] {last.data}, ORDERED | SIZED | SUBSIZED | NONNULL
+                        | SORTED | DISTINCT | IMMUTABLE);
+            }
+            if (stack.isEmpty()) return null;
+            ArrayDeque<Node> first = stack;
+            Node last = first.pollLast();
+            stack = new ArrayDeque<>();
+            stack.push(last);
+            long kept = 1 + size(last.rightChild);
+            long split = remaining - kept;
+            remaining = kept;
+            return new SnapshotSpliterator(first, split);
+        }
+
+        public long estimateSize() {
+            return remaining;
+        }
+
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | SORTED | DISTINCT | IMMUTABLE;
+        }
+
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        PersistentTree tree = new PersistentTree();
+        for (int i = 0; i < 100_000; i++) {
+            tree.insert(i);
+        }
+        Snapshot before = tree.snapshot();
+
+        // One writer deletes the odd keys while readers keep searching the snapshot they took
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i < 100_000; i += 2) {
+                tree.delete(i);
+            }
+        });
+        writer.start();
+        Thread[] readers = new Thread[4];
+        long[] found = new long[readers.length];
+        for (int t = 0; t < readers.length; t++) {
+            int id = t;
+            readers[t] = new Thread(() -> {
+                Snapshot snapshot = tree.snapshot();
+                for (int i = 0; i < 100_000; i++) {
+                    if (snapshot.contains(i)) found[id]++;
+                }
+            });
+            readers[t].start();
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        Snapshot after = tree.snapshot();
+        System.out.println("Before: " + before.size() + " keys, after: " + after.size() + " keys, height " + after.height());
+        System.out.println("Sum before: " + before.stream().parallel().asLongStream().sum()
+                + ", sum after: " + after.stream().parallel().asLongStream().sum());
+        System.out.println("Keys below 100 after: " + after.rank(100) + ", floor of 99: " + after.floor(99, -1));
+    }
+}
@@ -0,0 +1,302 @@
+package datastructures;
+
+import java.util.Arrays;
+
+/* Why pool the nodes of a LinkedList?
+ * Every LinkedList.Node is a separate object on the heap: an object header, the int value, a reference to the next node
+ * and an int visit stamp. For tens of millions of elements that is a lot of memory and every step
+ * of a traversal is a pointer chase to some random place on the heap.
+ * This version keeps the same singly linked structure, but a "node" is only an index into two parallel int arrays:
+ * data[i] is the value of node i and next[i] is the index of the node that follows it (or NIL at the end).
+ * A node costs 8 bytes, and deleted slots are kept on a free list so they can be handed out again without
+ * any garbage for the collector.
+ * Several lists may share one Pool, which is how two lists can merge into a common tail (see the mergePoint methods).
+ */
+
+class PooledLinkedList {
+    // Index used in place of a null reference
+    static final int NIL = -1;
+
+    Pool pool;
+    int head;
+    int tail;
+
+    // PooledLinkedList constructor with its own pool
+    PooledLinkedList() {
+        this(new Pool(16));
+    }
+
+    // PooledLinkedList constructor sharing an existing pool
+    PooledLinkedList(Pool pool) {
+        this.pool = pool;
+        head = NIL;
+        tail = NIL;
+    }
+
+    // PooledLinkedList constructor with head node argument
+    PooledLinkedList(Pool pool, int node) {
+        this.pool = pool;
+        head = node;
+        tail = lastNode(pool, node);
+    }
+
+    // Storage for the nodes of one or more lists
+    static class Pool {
+        int[] data;
+        int[] next;
+        int used;  // Slots handed out at least once, slots above this index were never used
+        int free;  // Head of the list of released slots, threaded through next[]
+        int live;  // Slots currently in use
+
+        Pool(int capacity) {
+            data = new int[Math.max(capacity, 1)];
+            next = new int[Math.max(capacity, 1)];
+            free = NIL;
+        }
+
+        // Returns a slot for a new node, reusing a released one if there is one
+        int allocate(int value) {
+            int node;
+            if (free != NIL) {
+                node = free;
+                free = next[node];
+            } else {
+                if (used == data.length) grow();
+                node = used++;
+            }
+            data[node] = value;
+            next[node] = NIL;
+            live++;
+            return node;
+        }
+
+        // Gives a slot back to the pool, the node must not be reachable from any list anymore
+        void release(int node) {
+            next[node] = free;
+            free = node;
+            live--;
+        }
+
+        private void grow() {
+            int capacity = data.length + (data.length >> 1) + 1;
+            data = Arrays.copyOf(data, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+    }
+
+    // Creates a node holding the value, it is not linked to anything yet
+    static int newNode(Pool pool, int value) {
+        return pool.allocate(value);
+    }
+
+    // Checks of the list is empty
+    static boolean checkIfEmpty(PooledLinkedList list) {
+        return list.head == NIL;
+    }
+
+    // Follows the next indices from node to the last node
+    static int lastNode(Pool pool, int node) {
+        if (node == NIL) return NIL;
+        while (pool.next[node] != NIL) {
+            node = pool.next[node];
+        }
+        return node;
+    }
+
+    // Prints the list
+    static void printLinkedList(PooledLinkedList list) {
+        int[] data = list.pool.data;
+        int[] next = list.pool.next;
+        for (int node = list.head; node != NIL; node = next[node]) {
+            System.out.print(data[node] + " ");
+        }
+        System.out.println();
+    }
+
+    // Inserts a node at the beginning of the list
+    static void insertNewHead(PooledLinkedList list, int node) {
+        list.pool.next[node] = list.head;
+        list.head = node;
+        if (list.tail == NIL) list.tail = node;
+    }
+
+    // Appends a node (and anything already linked after it) to the end of the list
+    static void appendNode(PooledLinkedList list, int node) {
+        if (list.head == NIL) {
+            list.head = node;
+        } else {
+            list.pool.next[list.tail] = node;
+        }
+        list.tail = lastNode(list.pool, node);
+    }
+
+    // Allocates a node for the value and appends it to the list
+    static int appendValue(PooledLinkedList list, int value) {
+        int node = list.pool.allocate(value);
+        appendNode(list, node);
+        return node;
+    }
+
+    // Iteratively counts the nodes in the list
+    static int countNodes(PooledLinkedList list) {
+        int[] next = list.pool.next;
+        int count = 0;
+        for (int node = list.head; node != NIL; node = next[node]) {
+            count++;
+        }
+        return count;
+    }
+
+    // Inserts newNode after the given node
+    // The list's tail is not known here, so use insertNode(list, node, newNode) when node may be the tail
+    static void insertNode(Pool pool, int node, int newNode) {
+        pool.next[newNode] = pool.next[node];
+        pool.next[node] = newNode;
+    }
+
+    // Inserts newNode after the given node of the list
+    static void insertNode(PooledLinkedList list, int node, int newNode) {
+        insertNode(list.pool, node, newNode);
+        if (list.tail == node) list.tail = newNode;
+    }
+
+    // Deletes the first node with the matching value and gives its slot back to the pool
+    // Returns false when there is no such node
+    // Do not use this on a node that is also part of another list sharing the pool
+    static boolean deleteNode(PooledLinkedList list, int key) {
+        int[] data = list.pool.data;
+        int[] next = list.pool.next;
+        int previousNode = NIL;
+        int currentNode = list.head;
+        while (currentNode != NIL && data[currentNode] != key) {
+            previousNode = currentNode;
+            currentNode = next[currentNode];
+        }
+        if (currentNode == NIL) return false;
+
+        if (previousNode == NIL) {
+            list.head = next[currentNode];
+        } else {
+            next[previousNode] = next[currentNode];
+        }
+        if (list.tail == currentNode) list.tail = previousNode;
+        list.pool.release(currentNode);
+        return true;
+    }
+
+    // Relinks the nodes starting at node so that every value less than x comes before the rest
+    // The relative order inside both halves is kept
+    // Returns the new first node
+    static int partition(Pool pool, int node, int x) {
+        int[] data = pool.data;
+        int[] next = pool.next;
+        int beforeStart = NIL;
+        int beforeEnd = NIL;
+        int afterStart = NIL;
+        int afterEnd = NIL;
+
+        while (node != NIL) {
+            int following = next[node];
+            next[node] = NIL;
+            if (data[node] < x) {
+                if (beforeStart == NIL) {
+                    beforeStart = node;
+                } else {
+                    next[beforeEnd] = node;
+                }
+                beforeEnd = node;
+            } else {
+                if (afterStart == NIL) {
+                    afterStart = node;
+                } else {
+                    next[afterEnd] = node;
+                }
+                afterEnd = node;
+            }
+            node = following;
+        }
+
+        if (beforeStart == NIL) return afterStart;
+        next[beforeEnd] = afterStart;
+        return beforeStart;
+    }
+
+    // Partitions the whole list around x, keeping its head and tail up to date
+    static void partition(PooledLinkedList list, int x) {
+        list.head = partition(list.pool, list.head, x);
+        list.tail = lastNode(list.pool, list.head);
+    }
+
+    // For each node in list1, look for the same node in list2
+    // Both lists must share a pool. Returns NIL when they do not intersect.
+    // Time complexity: O(n*m)
+    static int mergePoint1(PooledLinkedList list1, PooledLinkedList list2) {
+        int[] next = list1.pool.next;
+        for (int runner1 = list1.head; runner1 != NIL; runner1 = next[runner1]) {
+            for (int runner2 = list2.head; runner2 != NIL; runner2 = next[runner2]) {
+                if (runner1 == runner2) return runner1;
+            }
+        }
+        return NIL;
+    }
+
+    // Skip the extra nodes of the longer list, then walk both lists together until they meet
+    // Unlike LinkedList.mergePoint2 this does not move the heads of the lists.
+    // Both lists must share a pool. Returns NIL when they do not intersect.
+    // Time complexity: O(n+m)
+    static int mergePoint2(PooledLinkedList list1, PooledLinkedList list2) {
+        int[] next = list1.pool.next;
+        int length1 = countNodes(list1);
+        int length2 = countNodes(list2);
+        int runner1 = list1.head;
+        int runner2 = list2.head;
+        for (; length1 > length2; length1--) runner1 = next[runner1];
+        for (; length2 > length1; length2--) runner2 = next[runner2];
+        while (runner1 != runner2) {
+            runner1 = next[runner1];
+            runner2 = next[runner2];
+        }
+        return runner1;
+    }
+
+    // Two runners moving at the same speed, each restarting at the head of the other list when it runs out.
+    // After at most n+m steps they are either on the same node or both at the end.
+    // Both lists must share a pool. Returns NIL when they do not intersect.
+    // Time complexity: O(n+m)
+    static int mergePoint5(PooledLinkedList list1, PooledLinkedList list2) {
+        int[] next = list1.pool.next;
+        int runner1 = list1.head;
+        int runner2 = list2.head;
+        while (runner1 != runner2) {
+            runner1 = runner1 == NIL ? list2.head : next[runner1];
+            runner2 = runner2 == NIL ? list1.head : next[runner2];
+        }
+        return runner1;
+    }
+
+    public static void main(String[] args) {
+        Pool pool = new Pool(16);
+        PooledLinkedList l1 = new PooledLinkedList(pool);
+        PooledLinkedList l2 = new PooledLinkedList(pool);
+
+        for (int i = 6; i >= 1; i--) {
+            appendValue(l1, i);
+        }
+        printLinkedList(l1);
+        partition(l1, 3);
+        printLinkedList(l1);
+
+        appendValue(l2, 10);
+        appendValue(l2, 11);
+        int shared = newNode(pool, 12);
+        appendNode(l2, shared);
+        appendNode(l1, shared);
+        printLinkedList(l1);
+        printLinkedList(l2);
+        System.out.println("Merge point: " + pool.data[mergePoint2(l1, l2)]);
+        System.out.println("Merge point: " + pool.data[mergePoint5(l1, l2)]);
+
+        deleteNode(l1, 4);
+        System.out.println("Length after deleting 4: " + countNodes(l1));
+    }
+}
@@ -0,0 +1,1302 @@
+package datastructures;
+
+import java.nio.IntBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import java.math.*;
+
+/* What are LinkedLists good for?
+ * LinkedLists are good because of their efficient insertion and deletion times.
+ * If we have a pointer to a Node in a LinkedList, we can effectively insert and delete elements in O(1) time.
+ * LinkedLists have uses for stacks, queues, and other abstract data structures. Can represent trees and graphs.
+ * Other characteristics:
+ * Dynamic memory allocation, sparse matrices, manipulation of polynomials, performing arithmetic operations on long integers, finding paths in networks.
+ * Applications:
+ * Music players, browsing between web pages, image viewers, switching between two applications (circular), version control (doubly linked).
+ * Disadvantages:
+ * Uses more memory for pointers, searching for elements is costly (lookup in arrays is O(1)), reverse traversing in singly LinkedLists is not possible,
+ * data is not stored in contiguous locations in memory, random access is not allowed.
+  */
+
+class LinkedList implements Iterable<Integer> {
+    Node head;
+    // The last node and the number of nodes are kept up to date by the list helpers below,
+    // so appending and counting do not need to walk the list.
+    // Helpers that only get a Node (insertNode, deleteMiddleNode, partition, ...) cannot see the list,
+    // call resync afterwards if they were used to change the list.
+    Node tail;
+    int size;
+
+    // Operation metrics, see Metrics. Nothing is recorded unless metrics are enabled.
+    private static final Metrics.Operation APPEND_ALL = Metrics.operation("LinkedList", "appendAll");
+    private static final Metrics.Operation DELETE_NODE = Metrics.operation("LinkedList", "deleteNode");
+    private static final Metrics.Operation CONTAINS_LOOP = Metrics.operation("LinkedList", "containsLoop");
+    private static final Metrics.Operation CONTAINS_LOOP_REF = Metrics.operation("LinkedList", "containsLoopRef");
+    private static final Metrics.Operation REMOVE_DUPLICATES_REF = Metrics.operation("LinkedList", "removeDuplicatesRef");
+
+    // LinkedList constructor with no arguments
+    LinkedList() {
+        head = null;
+    }
+
+    // LinkedList constructor with head node argument
+    LinkedList(Node node) {
+        head = node;
+        resync(this);
+    }
+
+    // Recomputes the tail and size of the list by walking it once
+    static void resync(LinkedList list) {
+        Node last = null;
+        int count = 0;
+        for (Node currentNode = list.head; currentNode != null; currentNode = currentNode.next) {
+            last = currentNode;
+            count++;
+        }
+        list.tail = last;
+        list.size = count;
+    }
+
+    // Builds a LinkedList from the values of an array
+    static LinkedList fromArray(int[] values) {
+        LinkedList list = new LinkedList();
+        appendAll(list, values);
+        return list;
+    }
+
+    // Builds a LinkedList from the values of a stream, in encounter order
+    static LinkedList fromStream(IntStream values) {
+        LinkedList list = new LinkedList();
+        appendAll(list, values);
+        return list;
+    }
+
+    // Builds a LinkedList from the remaining values of an iterator
+    static LinkedList fromIterator(Iterator<Integer> values) {
+        LinkedList list = new LinkedList();
+        appendAll(list, values);
+        return list;
+    }
+
+    // Builds a LinkedList from the remaining values of a buffer
+    static LinkedList fromBuffer(IntBuffer values) {
+        LinkedList list = new LinkedList();
+        appendAll(list, values);
+        return list;
+    }
+
+    // Appends every value of the array to the end of the list
+    // The new nodes are chained on their own and spliced onto the tail once
+    static void appendAll(LinkedList list, int[] values) {
+        if (values.length == 0) return;
+        long start = Metrics.start();
+        Node first = new Node(values[0]);
+        Node last = first;
+        for (int i = 1; i < values.length; i++) {
+            last.next = new Node(values[i]);
+            last = last.next;
+        }
+        splice(list, first, last, values.length, start);
+    }
+
+    // Appends every value of the stream to the end of the list
+    static void appendAll(LinkedList list, IntStream values) {
+        appendAll(list, values.iterator());
+    }
+
+    // Appends the remaining values of the iterator to the end of the list
+    static void appendAll(LinkedList list, Iterator<Integer> values) {
+        if (!values.hasNext()) return;
+        long start = Metrics.start();
+        // Avoid boxing when the iterator can hand out ints directly
+        PrimitiveIterator.OfInt ints = values instanceof PrimitiveIterator.OfInt ? (PrimitiveIterator.OfInt) values : null;
+        Node first = new Node(ints != null ? ints.nextInt() : values.next());
+        Node last = first;
+        int count = 1;
+        while (values.hasNext()) {
+            last.next = new Node(ints != null ? ints.nextInt() : values.next());
+            last = last.next;
+            count++;
+        }
+        splice(list, first, last, count, start);
+    }
+
+    // Appends the remaining values of the buffer to the end of the list
+    static void appendAll(LinkedList list, IntBuffer values) {
+        int count = values.remaining();
+        if (count == 0) return;
+        long start = Metrics.start();
+        Node first = new Node(values.get());
+        Node last = first;
+        while (values.hasRemaining()) {
+            last.next = new Node(values.get());
+            last = last.next;
+        }
+        splice(list, first, last, count, start);
+    }
+
+    // Links an already built chain of count nodes to the end of the list
+    // start is the start time of the appendAll that built the chain, for the metrics
+    private static void splice(LinkedList list, Node first, Node last, int count, long start) {
+        if (list.head == null) {
+            list.head = first;
+        } else {
+            list.tail.next = first;
+        }
+        list.tail = last;
+        list.size += count;
+        APPEND_ALL.record(start, count, count);
+    }
+
+    // Checks of the list is empty
+    static boolean checkIfEmpty(LinkedList list) {
+        return list.head == null;
+    } 
+
+    // Return the LinkedList with a new head according to the index
+    static LinkedList chopLinkedList(LinkedList list, int index) {
+        Node currentNode = list.head;
+        for (int i = 0; i < index; i++) {
+            currentNode = currentNode.next;
+        }
+        list.head = currentNode;
+        list.size -= index;
+        if (currentNode == null) list.tail = null;
+        return list;
+    }
+
+    // Prints the LinkedList
+    static void printLinkedList(LinkedList list) {
+        Node currentNode = list.head;
+        while (currentNode != null) {
+            System.out.print(currentNode.data + " ");
+            currentNode = currentNode.next;
+        }
+        System.out.println();
+    }
+
+    // Prints the LinkedList with a given node
+    static void printNodes(Node head) {
+        Node currentNode = head;
+        while (currentNode != null) {
+            System.out.print(currentNode.data + " ");
+            currentNode = currentNode.next;
+        }
+        System.out.println();
+    }
+
+    // Inserts a node at the beginning of the list
+    static void insertNewHead(LinkedList list, Node node) {
+        node.next = list.head;
+        list.head = node;
+        if (list.tail == null) list.tail = node;
+        list.size++;
+    }
+
+    // Appends a node to the end of the list
+    // Time complexity: O(1), plus the length of anything already linked after node
+    static void appendNode(LinkedList list, Node node) {
+        if (list.head == null) {
+            list.head = node;
+        } else {
+            list.tail.next = node;
+        }
+        Node currentNode = node;
+        list.size++;
+        while (currentNode.next != null) {
+            currentNode = currentNode.next;
+            list.size++;
+        }
+        list.tail = currentNode;
+    }
+   
+    // Returns the number of nodes in a LinkedList
+    // Time complexity: O(1)
+    static int countNodes(LinkedList list) {
+        return list.size;
+    }
+
+    // Helper function for the main recursive method
+    static void recursivelyCountNodes(LinkedList list) {
+        Node traverseNode = list.head;
+        int count = recursionCountNodes(list, traverseNode);
+        System.out.println("LinkedList length is: " + count);
+    }
+
+    // Recursive method for counting the Nodes in a Linkedlist
+    static int recursionCountNodes(LinkedList list, Node traversingNode) {
+        if (traversingNode == null) { // Base case
+            return 0;
+        } else { // Recursive case
+            return 1 + recursionCountNodes(list, traversingNode.next);
+        }
+    }
+
+    // Inserts a node after the given pointer to a Node
+    static void insertNode(Node node, Node newNode) {
+        Node temp = node.next;
+        node.next = newNode;
+        newNode.next = temp;
+    }
+    
+    // Deletes a Node in a LinkedList with the matching value
+    static void deleteNode(LinkedList list, int key) {
+        long start = Metrics.start();
+        if (checkIfEmpty(list)) {
+            System.out.println("The LinkedList is empty.");
+            DELETE_NODE.fail(start, 0);
+        } else if (list.head.data == key) {
+            list.head = list.head.next;
+            list.size--;
+            if (list.head == null) list.tail = null;
+            System.out.println("List is now empty.");
+            DELETE_NODE.record(start, 1);
+        } else {
+            Node previousNode = list.head;
+            Node currentNode = list.head.next;
+            int visited = 1;
+            while (currentNode != null) {
+                visited++;
+                if (currentNode.data == key) {
+                    previousNode.next = currentNode.next;
+                    list.size--;
+                    if (list.tail == currentNode) list.tail = previousNode;
+                    System.out.println("Node with value " + key + " deleted.");
+                    DELETE_NODE.record(start, visited);
+                    return;
+                } else {
+                    previousNode = currentNode;
+                    currentNode = currentNode.next;
+                }
+            }
+            DELETE_NODE.fail(start, visited);
+        }
+    }
+    
+    // Helper function for the recursive version of Node deletion
+    // This will handle cases where recursion is not needed
+    static void deleteNodeRecursively(LinkedList list, int key) {
+        if (checkIfEmpty(list)) {
+            System.out.println("LinkedList is empty.");
+        } else if (list.head.data == key) {
+            list.head = list.head.next;
+            list.size--;
+            if (list.head == null) list.tail = null;
+        } else {
+            Node prevNode = null;
+            Node newLast = deleteNodeRecursion(key, prevNode, list.head);
+            if (newLast != null) {
+                list.size--;
+                if (newLast.next == null) list.tail = newLast;
+            }
+        }
+
+    }
+    
+    // Recursive function for Node deletion
+    // Returns the node before the deleted one, or null if nothing was deleted
+    static Node deleteNodeRecursion(int key, Node prevNode, Node traversingNode) {
+        if (traversingNode == null) { // Base case 1 (It is important to handle this case first)
+            return null;
+        } else if (traversingNode.data == key) { // Base case 2
+            prevNode.next = traversingNode.next;
+            return prevNode;
+        } else { // Recursive case
+            return deleteNodeRecursion(key, traversingNode, traversingNode.next);
+        }
+    }
+
+    // Check if the LinkedList contains a loop by stamping each node with a fresh visit epoch
+    // Time complexity: O(n)
+    // Space complexity: O(1), nothing is allocated and nothing has to be reset afterwards
+    static boolean containsLoop(LinkedList list) {
+        if (checkIfEmpty(list)) return false;
+        long start = Metrics.start();
+        long epoch = VisitEpoch.next();
+        int visited = 0;
+        for (Node currentNode = list.head; currentNode != null; currentNode = currentNode.next) {
+            if (currentNode.visited == epoch) {
+                CONTAINS_LOOP.record(start, visited);
+                return true;
+            }
+            currentNode.visited = epoch;
+            visited++;
+        }
+        CONTAINS_LOOP.record(start, visited);
+        return false;
+    }
+
+    // Check if the LinkedList contains a loop using a reference table
+    // The table compares nodes by reference, so it does not depend on Node's hashCode and does not box anything
+    static boolean containsLoopRef(LinkedList list) {
+        if (checkIfEmpty(list)) return false;
+        long start = Metrics.start();
+        IdentityNodeSet set = new IdentityNodeSet(list.size);
+        Node currentNode = list.head;
+        while (currentNode != null) {
+            if (!set.add(currentNode)) {
+                CONTAINS_LOOP_REF.record(start, set.size());
+                return true;
+            }
+            currentNode = currentNode.next;
+        }
+        CONTAINS_LOOP_REF.record(start, set.size());
+        return false;
+    }
+
+    // Check if the LinkedList contains a loop
+    static boolean containsLoopFlagged(LinkedList list) {
+        if (checkIfEmpty(list)) return false;
+        long epoch = VisitEpoch.next();
+        Node currentNode = list.head;
+        currentNode.visited = epoch;
+        while (currentNode.next != null) {
+            currentNode = currentNode.next;
+            if (currentNode.visited == epoch) return true;
+            currentNode.visited = epoch;
+        }
+        return false;
+    }
+
+    // This method uses a reference table to remove duplicates
+    // Time complexity: O(n), the table holds ints and does not box them
+    static void removeDuplicatesRef(LinkedList list) {
+        if (checkIfEmpty(list)) return;
+        removeDuplicates(list, new IntHashSet(list.size));
+    }
+
+    // Removes duplicates from a list whose values are all in [min, max], using one bit per value in the range
+    // Time complexity: O(n + range), space: range / 8 bytes
+    static void removeDuplicatesRef(LinkedList list, int min, int max) {
+        if (checkIfEmpty(list)) return;
+        removeDuplicates(list, IntHashSet.forRange(min, max));
+    }
+
+    // Keeps the first node of every value, seen holds the values kept so far
+    private static void removeDuplicates(LinkedList list, IntHashSet seen) {
+        long start = Metrics.start();
+        int visited = list.size;
+        Node prevNode = null;
+        Node currentNode = list.head;
+        while (currentNode != null) {
+            if (seen.add(currentNode.data)) {
+                prevNode = currentNode;
+            } else {
+                prevNode.next = currentNode.next;
+                list.size--;
+            }
+            currentNode = currentNode.next;
+        }
+        list.tail = prevNode;
+        REMOVE_DUPLICATES_REF.record(start, visited);
+    }
+
+    // This method contains two pointers and does not use a reference table
+    static void removeDuplicates(LinkedList list) {
+        Node current = list.head;
+        while (current != null) {
+            Node runner = current;
+            while (runner.next != null) {
+                if (runner.next.data == current.data) {
+                    runner.next = runner.next.next;
+                    list.size--;
+                } else {
+                    runner = runner.next;
+                }
+            }
+            if (current.next == null) list.tail = current;
+            current = current.next;
+        }
+    }
+
+    // Print the kth to last element if the size of the list is known
+    // The kth to last element is ((size-k)+1)th in the list
+    static void kthToLastElement(LinkedList list, int k, int size) {
+        Node runner = list.head;
+        int n = (size-k)+1;
+        for (int i = 1; i < n; i++) {
+            runner = runner.next;
+        }
+        System.out.println("The " + k + "st/rd/th " + "to last element is " + runner.data);
+    }
+
+    // Print the kth to last element if the size of the list is unknown
+    static void kthToLastElement(LinkedList list, int k) {
+        if (checkIfEmpty(list)) {
+            System.out.println("The LinkedList is empty.");
+        } else {
+            Node currentNode = list.head;
+            while (currentNode != null) {
+               Node runner = currentNode;
+               int count = 0;
+               while (runner.next != null) {
+                    runner = runner.next;
+                    count++;
+               }
+               if (count == k) {
+                System.out.println("The " + k + "st/rd/th " + "to last element is " + currentNode.data);
+                return;
+               }
+               currentNode = currentNode.next;
+            }
+            System.out.println("The element does not exist in the LinkedList.");
+        }
+    }
+
+    // Find the kth to last element recursively (returns the node value, not the actual node)
+    // Time complexity: O(n)
+    // Space complexity: O(n)
+    static int findKthRec1(Node head, int k) {
+        if (head == null) {
+            return 0;
+        } else {
+            int pos = findKthRec1(head.next, k) + 1;
+            if (pos == k) {
+                System.out.println("The " + k + "th to last element has a value of " + head.data);
+            }
+            return pos;
+        }
+    }
+
+    // Find the kth to last element recursively (returns the actual node)
+    // Set class of index to keep a static reference to variable since we can only return one type
+    // of vlaue for the recursive function
+    // Time complexity: O(n)
+    // Space complexity: O(n)
+    static class Index {
+        int index = 0;
+        Index(int i) {
+            index = i;
+        }
+     }
+
+    static Node findKthRec2(Node head, int k) {
+        Index i = new Index(0);
+        return findKthRec2(head, k, i);
+    }
+
+    static Node findKthRec2(Node head, int k, Index i) {
+        if (head == null) {
+            return null;
+        } else {
+            Node node = findKthRec2(head.next, k, i);
+            i.index++;
+            if (i.index == k) {
+                return head;
+            }
+            return node;
+        }
+    }
+   
+    // Delete the middle node given ONLY the refernece to that particular node
+    // Time complexity: O(n)
+    // Space complexity: 
+    static void deleteMiddleNode(Node node) {
+        Node next;
+        while (node != null) {
+            next = node.next;
+            if (next == null) {
+                break;
+            } else {
+                node.data = next.data;
+                if (next.next == null) {
+                    node.next = null;
+                    break;
+                } else {
+                    node = next;
+                }
+            }
+        }
+    }
+
+    // ?????
+    static Node partition(Node node, int x) {
+        Node beforeStart = null;
+        Node beforeEnd = null;
+        Node afterStart = null;
+        Node afterEnd = null;
+       
+
+        while (node != null) {
+            Node next = node.next;
+            node.next = null;
+            if (node.data < x) {
+                if (beforeStart == null) {
+                    beforeStart = node;
+                    beforeEnd = beforeStart;
+                } else {
+                    beforeEnd.next = node;
+                    beforeEnd = node;
+                }
+            } else {
+                if (afterStart == null) {
+                    afterStart = node;
+                    afterEnd = afterStart;
+                } else {
+                    afterStart.next = node;
+                    afterEnd = node;
+                }
+            }
+            node = next;
+        }
+
+        beforeEnd.next = afterStart;
+        return beforeStart;
+    
+    }
+
+    // The mergePoint strategies below assume the lists intersect and some of them change the lists,
+    // ListAnalysis.mergePoint needs neither and also handles lists with cycles
+
+    // For each next element in list1, find the matching next element in list2
+    // Assume that there is always an intersection between the two lists.
+    // Time complexity: O(n*m)
+    static Node mergePoint1(LinkedList list1, LinkedList list2) {
+        Node runner1 = list1.head;
+        while (runner1 != null) {
+            Node runner2 = list2.head;
+            while (runner2 != null) {
+                if (runner1.next == runner2.next) {
+                    return runner1.next;
+                }
+                runner2 = runner2.next;
+            }
+            runner1 = runner1.next;
+        }
+        return null;
+    }
+
+
+    // Determine which of the lists are longer and cut off the longer list.
+    // Afterwards, iterate through both at the same time until intersection is found.
+    // Assume that there is always an intersection between the two lists.
+    // Time complexity O(m+n)
+    static Node mergePoint2(LinkedList list1, LinkedList list2) {
+        int length1 = countNodes(list1);
+        int length2 = countNodes(list2);
+        int difference = Math.abs(length1-length2);
+        if (length1 > length2) {
+            list1 = chopLinkedList(list1, difference);
+        } else {
+            list2 = chopLinkedList(list2, difference);
+        }
+
+        Node runner1 = list1.head;
+        Node runner2 = list2.head;
+        while (runner1.next !=  runner2.next) {
+            runner1 = runner1.next;
+            runner2 = runner2.next;
+        }
+        return runner1.next;
+    }
+
+
+    // Determine where the intersection between two lists are by using flags
+    // Assume that there is always an intersection between any two given lists
+    // This will require a modification to the data structure
+    // The flags are visit epochs, so earlier calls on the same nodes do not affect the answer
+    // Time complexity O(m+n)
+    // Space complexity O(1)
+    static Node mergePoint3(LinkedList list1, LinkedList list2) {
+        long epoch = VisitEpoch.next();
+        Node runner1 = list1.head;
+        Node runner2 = list2.head;
+        while (runner1 != null) {
+            runner1.visited = epoch;
+            runner1 = runner1.next;
+        }
+        while (runner2.next != null) {
+            if (runner2.next.visited == epoch) {
+                return runner2.next;
+            } else {
+                runner2 = runner2.next;
+            }
+        }
+        return null;
+    }
+
+
+    // Determine where the intersection between two lists are by
+    // creating a loop in the first list and using a slow and a fast pointer
+    // Assume that there is always an intersection between any two given lists
+    // Time complexcity ()
+    static Node mergePoint4(LinkedList list1, LinkedList list2) {
+        Node curr = list1.head;
+        while (curr.next != null) {
+            curr = curr.next;
+        }
+        curr.next = list1.head;
+        Node fast = list1.head;
+        Node slow = list1.head;
+        while (fast != slow) {
+            fast = fast.next.next;
+            slow = slow.next;
+        } 
+        fast = list2.head;
+        while (fast != slow) {
+            fast = fast.next;
+            slow = slow.next;
+        }
+        return slow;
+    }
+
+
+    // Determine where the intersection between two lists are by using two pointers
+    // moving at the same speed. When either of the pointers reach the end, restart
+    // it at the end of the other list. They will eventually meet at the intersection 
+    // point.
+    // Assume that there is always an intersection between any two given lists
+    static Node mergePoint5(LinkedList list1, LinkedList list2) {
+        Node runner1 = list1.head;
+        Node runner2 = list2.head;
+        while (runner1 != runner2) {
+            if (runner1.next == null) {
+                runner1 = list2.head;
+                runner2 = runner2.next;
+            } else if (runner2.next == null) {
+                runner2 = list1.head;
+                runner1 = runner1.next;
+            }  else {
+                runner1 = runner1.next;
+                runner2 = runner2.next;
+            }
+        }
+        return runner1;
+
+    }
+
+    // Hands out the stamps used to mark nodes during a traversal.
+    // A node counts as visited when its visited field equals the stamp of the current traversal, so starting a new
+    // traversal is just taking a new stamp: there is no reset pass and old marks are simply stale.
+    // 0 is never handed out because it is the value of a node that was never marked. The stamps are longs so they
+    // never come round again: an int counter wraps after 2^32 traversals, and a node still holding a stamp from the
+    // previous round would then look visited and show a loop in an acyclic list.
+    // The stamps are per traversal, not per thread: two traversals running at the same time over the same nodes
+    // overwrite each other's marks, so one of them can miss a loop. Use containsLoopRef or ListAnalysis there.
+    static class VisitEpoch {
+        private static final AtomicLong counter = new AtomicLong();
+
+        static long next() {
+            return counter.incrementAndGet();
+        }
+    }
+
+    static class Node {
+        int data;
+        Node next;
+        // Epoch of the last traversal that marked this node, see VisitEpoch
+        long visited;
+
+        // Constructor for a Node with a passed value
+        Node(int n) {
+            data = n;
+            next = null;
+        }
+        // Constructor for an empty Node
+        Node() {
+        }
+
+    }
+
+    /* Iteration
+     * The values can be read without printing them: iterator() hands out ints without boxing, and stream(list) runs
+     * an IntStream pipeline over the nodes, also in parallel.
+     * The list knows its length, so the spliterator reports an exact size and splits by chunks: trySplit walks over
+     * the next chunk of nodes and hands it off as a spliterator of its own, which only needs the first node and the
+     * count. Nothing is copied. A chunk is never more than half of what is left and grows with every split, so the
+     * walking done to split stays small next to the work done on the chunks.
+     * The list must not be changed while it is being iterated.
+     */
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private Node next = head;
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            public int nextInt() {
+                if (next == null) throw new NoSuchElementException();
+                int value = next.data;
+                next = next.next;
+                return value;
+            }
+        };
+    }
+
+    public Spliterator.OfInt spliterator() {
+        return new NodeSpliterator(head, size);
+    }
+
+    static IntStream stream(LinkedList list) {
+        return StreamSupport.intStream(list.spliterator(), false);
+    }
+
+    static final class NodeSpliterator implements Spliterator.OfInt {
+        static final int CHUNK_UNIT = 1 << 10;
+        static final int MAX_CHUNK = 1 << 25;
+
+        private Node current;
+        private long remaining;
+        private int chunk = CHUNK_UNIT;
+
+        // Covers count nodes starting at first
+        NodeSpliterator(Node first, long count) {
+            current = first;
+            remaining = count;
+        }
+
+        public boolean tryAdvance(IntConsumer action) {
+            if (remaining == 0 || current == null) return false;
+            int value = current.data;
+            current = current.next;
+            remaining--;
+            action.accept(value);
+            return true;
+        }
+
+        public void forEachRemaining(IntConsumer action) {
+            Node node = current;
+            long count = remaining;
+            current = null;
+            remaining = 0;
+            for (; count > 0 && node != null; count--) {
+                action.accept(node.data);
+                node = node.next;
+            }
+        }
+
+        public Spliterator.OfInt trySplit() {
+            if (remaining < 2 * CHUNK_UNIT) return null;
+            int count = (int) Math.min(chunk, remaining / 2);
+            Node first = current;
+            Node node = current;
+            for (int i = 0; i < count; i++) {
+                node = node.next;
+            }
+            current = node;
+            remaining -= count;
+            chunk = Math.min(chunk + CHUNK_UNIT, MAX_CHUNK);
+            return new NodeSpliterator(first, count);
+        }
+
+        public long estimateSize() {
+            return remaining;
+        }
+
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    /* Sorted set operations
+     * The lists must be sorted in non-decreasing order. Duplicates count like in a multiset: a value that is in
+     * list1 twice and in list2 once is in the intersection once, in the union twice and in the difference once.
+     *
+     * Each operation comes in two forms. The plain form leaves both lists alone and builds the result from new nodes.
+     * The InPlace form relinks the existing nodes and allocates nothing: the result replaces list1 and the nodes of
+     * list1 that are not part of it are dropped. Only the union takes nodes from list2, so it leaves list2 empty; the
+     * intersection and the difference only read list2 and leave it as it was.
+     *
+     * The lists have no random access, so there is nothing to gain from galloping (exponential search) over a list
+     * that is much longer than the other: finding the place to continue still means walking every node in between.
+     * Instead the walk stops as soon as the rest of the answer is known. Intersection stops when either list runs out,
+     * and the in-place union and difference splice the rest of the remaining list on in O(1), using the tail and
+     * size the list already keeps.
+     */
+
+    // Given two sorted LinkedLists, find the intersection  of the two (the common node values)
+    // Time complexity: O(n+m)
+    static LinkedList sortedIntersection(LinkedList list1, LinkedList list2) {
+        LinkedList result = new LinkedList();
+        Node runner1 = list1.head;
+        Node runner2 = list2.head;
+        while (runner1 != null && runner2 != null) {
+            if (runner1.data < runner2.data) {
+                runner1 = runner1.next;
+            } else if (runner1.data > runner2.data) {
+                runner2 = runner2.next;
+            } else {
+                appendNode(result, new Node(runner1.data));
+                runner1 = runner1.next;
+                runner2 = runner2.next;
+            }
+        }
+        return result;
+    }
+
+    // Given two sorted LinkedLists, find the values that are in either of them
+    // Time complexity: O(n+m)
+    static LinkedList sortedUnion(LinkedList list1, LinkedList list2) {
+        LinkedList result = new LinkedList();
+        Node runner1 = list1.head;
+        Node runner2 = list2.head;
+        while (runner1 != null && runner2 != null) {
+            if (runner1.data < runner2.data) {
+                appendNode(result, new Node(runner1.data));
+                runner1 = runner1.next;
+            } else if (runner1.data > runner2.data) {
+                appendNode(result, new Node(runner2.data));
+                runner2 = runner2.next;
+            } else {
+                appendNode(result, new Node(runner1.data));
+                runner1 = runner1.next;
+                runner2 = runner2.next;
+            }
+        }
+        for (Node rest = runner1 != null ? runner1 : runner2; rest != null; rest = rest.next) {
+            appendNode(result, new Node(rest.data));
+        }
+        return result;
+    }
+
+    // Given two sorted LinkedLists, find the values of list1 that are not in list2
+    // Time complexity: O(n+m)
+    static LinkedList sortedDifference(LinkedList list1, LinkedList list2) {
+        LinkedList result = new LinkedList();
+        Node runner1 = list1.head;
+        Node runner2 = list2.head;
+        while (runner1 != null) {
+            if (runner2 == null || runner1.data < runner2.data) {
+                appendNode(result, new Node(runner1.data));
+                runner1 = runner1.next;
+            } else if (runner1.data > runner2.data) {
+                runner2 = runner2.next;
+            } else {
+                runner1 = runner1.next;
+                runner2 = runner2.next;
+            }
+        }
+        return result;
+    }
+
+    // Empties the list without touching its nodes
+    private static void clear(LinkedList list) {
+        list.head = null;
+        list.tail = null;
+        list.size = 0;
+    }
+
+    // Links a node to the end of a list that is being rebuilt, node.next is fixed up by the caller
+    private static void link(LinkedList list, Node node) {
+        if (list.head == null) {
+            list.head = node;
+        } else {
+            list.tail.next = node;
+        }
+        list.tail = node;
+        list.size++;
+    }
+
+    // Links the rest of another list, from node up to its known tail, in O(1)
+    private static void linkRest(LinkedList list, Node node, Node tail, int count) {
+        if (node == null) {
+            if (list.tail != null) list.tail.next = null;
+            return;
+        }
+        if (list.head == null) {
+            list.head = node;
+        } else {
+            list.tail.next = node;
+        }
+        list.tail = tail;
+        list.size += count;
+    }
+
+    // Keeps the nodes of list1 whose values are also in list2
+    static void sortedIntersectionInPlace(LinkedList list1, LinkedList list2) {
+        Node runner1 = list1.head;
+        Node runner2 = list2.head;
+        clear(list1);
+        while (runner1 != null && runner2 != null) {
+            if (runner1.data < runner2.data) {
+                runner1 = runner1.next;
+            } else if (runner1.data > runner2.data) {
+                runner2 = runner2.next;
+            } else {
+                Node keep = runner1;
+                runner1 = runner1.next;
+                runner2 = runner2.next;
+                link(list1, keep);
+            }
+        }
+        if (list1.tail != null) list1.tail.next = null;
+    }
+
+    // Merges the nodes of list2 into list1, dropping the nodes of list2 whose value list1 already has
+    static void sortedUnionInPlace(LinkedList list1, LinkedList list2) {
+        Node runner1 = list1.head;
+        Node runner2 = list2.head;
+        Node tail1 = list1.tail;
+        Node tail2 = list2.tail;
+        int left1 = list1.size;
+        int left2 = list2.size;
+        clear(list1);
+        clear(list2);
+        while (runner1 != null && runner2 != null) {
+            Node keep;
+            if (runner1.data < runner2.data) {
+                keep = runner1;
+                runner1 = runner1.next;
+                left1--;
+            } else if (runner1.data > runner2.data) {
+                keep = runner2;
+                runner2 = runner2.next;
+                left2--;
+            } else {
+                keep = runner1;
+                runner1 = runner1.next;
+                runner2 = runner2.next;
+                left1--;
+                left2--;
+            }
+            link(list1, keep);
+        }
+        if (runner1 != null) {
+            linkRest(list1, runner1, tail1, left1);
+        } else {
+            linkRest(list1, runner2, tail2, left2);
+        }
+    }
+
+    // Removes the nodes of list1 whose values are in list2
+    static void sortedDifferenceInPlace(LinkedList list1, LinkedList list2) {
+        Node runner1 = list1.head;
+        Node runner2 = list2.head;
+        Node tail1 = list1.tail;
+        int left1 = list1.size;
+        clear(list1);
+        while (runner1 != null && runner2 != null) {
+            if (runner1.data < runner2.data) {
+                Node keep = runner1;
+                runner1 = runner1.next;
+                left1--;
+                link(list1, keep);
+            } else if (runner1.data > runner2.data) {
+                runner2 = runner2.next;
+            } else {
+                runner1 = runner1.next;
+                runner2 = runner2.next;
+                left1--;
+            }
+        }
+        linkRest(list1, runner1, tail1, left1);
+    }
+
+    // Merges any number of sorted lists into one new sorted list, the lists are left alone
+    // A binary heap holds the current node of every list, so each step costs O(Log k)
+    // Time complexity: O(n Log k) for n values in k lists
+    static LinkedList kWayMerge(LinkedList... lists) {
+        return kWayMerge(lists, false);
+    }
+
+    // Like kWayMerge, but relinks the existing nodes and leaves the lists empty
+    static LinkedList kWayMergeInPlace(LinkedList... lists) {
+        return kWayMerge(lists, true);
+    }
+
+    private static LinkedList kWayMerge(LinkedList[] lists, boolean inPlace) {
+        // heap[i] is the current node of list source[i], ordered by value and then by list so equal values
+        // come out in the order of the lists
+        Node[] heap = new Node[lists.length];
+        int[] source = new int[lists.length];
+        int heapSize = 0;
+        for (int i = 0; i < lists.length; i++) {
+            if (lists[i].head != null) {
+                heap[heapSize] = lists[i].head;
+                source[heapSize] = i;
+                heapSize++;
+            }
+            if (inPlace) clear(lists[i]);
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, source, heapSize, i);
+        }
+
+        LinkedList result = new LinkedList();
+        while (heapSize > 0) {
+            Node smallest = heap[0];
+            Node following = smallest.next;
+            if (inPlace) {
+                link(result, smallest);
+            } else {
+                appendNode(result, new Node(smallest.data));
+            }
+            if (following != null) {
+                heap[0] = following;
+            } else {
+                heapSize--;
+                heap[0] = heap[heapSize];
+                source[0] = source[heapSize];
+                heap[heapSize] = null;
+            }
+            siftDown(heap, source, heapSize, 0);
+        }
+        if (result.tail != null) result.tail.next = null;
+        return result;
+    }
+
+    private static void siftDown(Node[] heap, int[] source, int heapSize, int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < heapSize && before(heap, source, left, smallest)) smallest = left;
+            if (right < heapSize && before(heap, source, right, smallest)) smallest = right;
+            if (smallest == i) return;
+            Node node = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = node;
+            int list = source[i];
+            source[i] = source[smallest];
+            source[smallest] = list;
+            i = smallest;
+        }
+    }
+
+    private static boolean before(Node[] heap, int[] source, int a, int b) {
+        return heap[a].data < heap[b].data || (heap[a].data == heap[b].data && source[a] < source[b]);
+    }
+
+    /* Sorting
+     * sort is a bottom-up merge sort that only relinks next pointers. It takes the nodes one at a time and keeps at
+     * most one sorted run of each power-of-two length, like the digits of a binary counter: a new node is a run of
+     * length 1, and whenever two runs of the same length meet they are merged into one of twice the length.
+     * The merges happen on nodes that were just touched, so they are mostly served from the cache, which matters more
+     * than anything else on a list whose nodes are spread over the heap. There is no recursion and no buffer: the
+     * extra space is a table of 32 run heads whatever the length of the list.
+     * Equal values keep their order (the sort is stable), and the tail is found by the last merge.
+     *
+     * Before that, one pass checks whether the list is already in order, and whether it is in strictly decreasing
+     * order, in which case reversing it is enough. Lists that are sorted often (before mergePoint or the sorted set
+     * operations) then cost O(n) instead of O(n Log n).
+     *
+     * parallelSort cuts the list into a few runs per worker, sorts the runs with sort on a ForkJoinPool and merges
+     * them pairwise, also in parallel. Merging two lists cannot be split without random access, so the last merge
+     * walks the whole list on one thread; the gain comes from sorting the runs.
+     */
+
+    // Sorts the list in non-decreasing order
+    // Time complexity: O(n Log n), O(n) when it is already sorted or reversed
+    // Space complexity: O(1)
+    static void sort(LinkedList list) {
+        if (list.head == null || list.head.next == null) return;
+        if (sortedOrReversed(list)) return;
+        // runs[i] is a sorted run of 2^i nodes or null, higher runs hold earlier nodes; tails[i] is its last node
+        Node[] runs = new Node[32];
+        Node[] tails = new Node[32];
+        int used = 0;
+        Node node = list.head;
+        while (node != null) {
+            Node run = node;
+            Node tail = node;
+            node = node.next;
+            run.next = null;
+            int i = 0;
+            for (; i < used && runs[i] != null; i++) {
+                tail = lastOf(tails[i], tail);
+                run = merge(runs[i], run);
+                runs[i] = null;
+            }
+            runs[i] = run;
+            tails[i] = tail;
+            if (i == used) used++;
+        }
+        Node head = null;
+        Node tail = null;
+        for (int i = 0; i < used; i++) {
+            if (runs[i] == null) continue;
+            if (head == null) {
+                head = runs[i];
+                tail = tails[i];
+            } else {
+                tail = lastOf(tails[i], tail);
+                head = merge(runs[i], head);
+            }
+        }
+        list.head = head;
+        list.tail = tail;
+    }
+
+    // Merges the sorted chains a and b and returns the first node
+    // On equal values the node from a comes first, so the merge is stable
+    private static Node merge(Node a, Node b) {
+        Node head = b.data < a.data ? b : a;
+        Node tail = null;
+        while (a != null && b != null) {
+            Node next;
+            if (b.data < a.data) {
+                next = b;
+                b = b.next;
+            } else {
+                next = a;
+                a = a.next;
+            }
+            if (tail != null) tail.next = next;
+            tail = next;
+        }
+        tail.next = a != null ? a : b;
+        return head;
+    }
+
+    // The last node of the merge of two chains, given the last node of a and of b
+    private static Node lastOf(Node tailA, Node tailB) {
+        return tailA.data > tailB.data ? tailA : tailB;
+    }
+
+    // Cuts the first count nodes off the chain at node and returns the last of them, count >= 1
+    private static Node cut(Node node, int count) {
+        for (int i = 1; i < count; i++) {
+            node = node.next;
+        }
+        return node;
+    }
+
+    // Checks in one pass if the list is sorted, or in strictly decreasing order and reverses it then
+    // Returns true if the list is sorted afterwards
+    private static boolean sortedOrReversed(LinkedList list) {
+        boolean ascending = true;
+        boolean descending = true;
+        Node last = list.head;
+        for (; last.next != null && (ascending || descending); last = last.next) {
+            if (last.next.data < last.data) ascending = false;
+            if (last.next.data >= last.data) descending = false;
+        }
+        if (ascending) {
+            // The loop only stops early once neither holds, so last is the real tail here
+            list.tail = last;
+            return true;
+        }
+        if (!descending) return false;
+        Node previous = null;
+        Node node = list.head;
+        list.tail = node;
+        while (node != null) {
+            Node next = node.next;
+            node.next = previous;
+            previous = node;
+            node = next;
+        }
+        list.head = previous;
+        return true;
+    }
+
+    // Runs shorter than this are not worth a task of their own
+    static final int PARALLEL_MIN_RUN = 1 << 13;
+
+    static void parallelSort(LinkedList list) {
+        parallelSort(list, ForkJoinPool.commonPool());
+    }
+
+    static void parallelSort(LinkedList list, ForkJoinPool pool) {
+        int runCount = Math.min(pool.getParallelism() * 4, list.size / PARALLEL_MIN_RUN);
+        if (runCount < 2) {
+            sort(list);
+            return;
+        }
+        if (sortedOrReversed(list)) return;
+        LinkedList[] runs = new LinkedList[runCount];
+        Node remaining = list.head;
+        for (int i = 0; i < runCount; i++) {
+            LinkedList run = new LinkedList();
+            run.head = remaining;
+            run.size = i < runCount - 1 ? list.size / runCount : list.size - (runCount - 1) * (list.size / runCount);
+            run.tail = cut(remaining, run.size);
+            remaining = run.tail.next;
+            run.tail.next = null;
+            runs[i] = run;
+        }
+        LinkedList sorted = pool.invoke(new SortTask(runs, 0, runCount));
+        list.head = sorted.head;
+        list.tail = sorted.tail;
+    }
+
+    // Never serialized, like ParallelTreeAggregation's tasks
+    @SuppressWarnings("serial")
+    private static class SortTask extends RecursiveTask<LinkedList> {
+        private final LinkedList[] runs;
+        private final int from;
+        private final int to;
+
+        SortTask(LinkedList[] runs, int from, int to) {
+            this.runs = runs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LinkedList compute() {
+            if (to - from == 1) {
+                sort(runs[from]);
+                return runs[from];
+            }
+            int middle = (from + to) >>> 1;
+            SortTask left = new SortTask(runs, from, middle);
+            left.fork();
+            LinkedList right = new SortTask(runs, middle, to).compute();
+            LinkedList merged = left.join();
+            merged.tail = lastOf(merged.tail, right.tail);
+            merged.head = merge(merged.head, right.head);
+            merged.size += right.size;
+            return merged;
+        }
+    }
+
+
+    public static void main(String[] args) {
+        LinkedList l2 = new LinkedList();
+        LinkedList l1 = new LinkedList();
+        Node node1 = new Node(1);
+        Node node2 = new Node(2);
+        Node node3 = new Node(3);
+        Node node4 = new Node(4);
+        Node node5 = new Node(5);
+        Node node6 = new Node(6);
+
+
+          
+        
+        appendNode(l1, node6);
+        appendNode(l1, node5);
+        appendNode(l1, node4);
+        appendNode(l1, node3);
+        appendNode(l1, node2);
+        appendNode(l1, node1);
+        printLinkedList(l1);
+
+        printNodes(partition(node6, 3));
+
+        // parallelSort on input that is partly sorted, sorted and reversed, so some runs take the early return in sort
+        ForkJoinPool pool = new ForkJoinPool(4);
+        int n = 1 << 16;
+        java.util.SplittableRandom random = new java.util.SplittableRandom(42);
+        int[][] inputs = {
+                IntStream.range(0, n).map(i -> i < n / 2 ? i : random.nextInt(n)).toArray(),
+                IntStream.range(0, n).toArray(),
+                IntStream.range(0, n).map(i -> n - i).toArray(),
+                IntStream.range(0, n).map(i -> (i / PARALLEL_MIN_RUN) % 2 == 0 ? i : -i).toArray(),
+        };
+        for (int[] input : inputs) {
+            LinkedList sorted = fromArray(input);
+            parallelSort(sorted, pool);
+            int[] expected = input.clone();
+            java.util.Arrays.sort(expected);
+            if (!java.util.Arrays.equals(stream(sorted).toArray(), expected) || sorted.tail.next != null
+                    || sorted.tail.data != expected[n - 1]) {
+                throw new AssertionError("parallelSort returned a wrong list or tail");
+            }
+        }
+        pool.shutdown();
+        System.out.println("parallelSort: " + inputs.length + " inputs of " + n + " values sorted");
+    }
+}
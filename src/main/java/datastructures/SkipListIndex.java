@@ -0,0 +1,222 @@
+package datastructures;
+
+import java.util.SplittableRandom;
+
+/* A skip list index over a sorted LinkedList.
+ * Searching a LinkedList means walking it from the head. This keeps the LinkedList and its nodes as they are and adds
+ * "express lanes" above them: every node gets a tower of index entries whose height is random, each level being
+ * present with probability 1/4. Level i links the nodes whose tower reaches level i, so every level skips about
+ * four times as many nodes as the one below it. A search runs along the top level until the next entry would
+ * overshoot, drops one level and repeats, and ends on the LinkedList itself a few nodes before the key.
+ * contains, insert and delete take O(Log n) expected time, and a range starts in O(Log n) and then simply walks the
+ * LinkedList.
+ *
+ * The index uses about a third of an index entry per node. The list must be sorted in non-decreasing order and
+ * must only be changed through this class while the index is in use; call build again after changing it directly.
+ */
+
+class SkipListIndex {
+    // 4^16 nodes is more than a LinkedList can count
+    static final int MAX_LEVEL = 16;
+
+    private static class Index {
+        final LinkedList.Node node; // null for the head entries, which come before every node
+        final Index down;
+        Index right;
+
+        Index(LinkedList.Node node, Index down, Index right) {
+            this.node = node;
+            this.down = down;
+            this.right = right;
+        }
+    }
+
+    LinkedList list;
+    private Index head; // Head entry of the top level
+    private int levels;
+    private final SplittableRandom random;
+
+    private SkipListIndex(LinkedList list, long seed) {
+        this.list = list;
+        random = new SplittableRandom(seed);
+        head = null;
+        levels = 0;
+    }
+
+    // Builds an index over a sorted list in O(n)
+    static SkipListIndex build(LinkedList list) {
+        return build(list, System.nanoTime());
+    }
+
+    static SkipListIndex build(LinkedList list, long seed) {
+        SkipListIndex index = new SkipListIndex(list, seed);
+        // tails[i] is the last entry of level i+1 so far, new entries are linked after it
+        Index[] tails = new Index[MAX_LEVEL];
+        for (LinkedList.Node node = list.head; node != null; node = node.next) {
+            int height = index.randomLevel();
+            index.growTo(height, tails);
+            Index below = null;
+            for (int level = 0; level < height; level++) {
+                Index entry = new Index(node, below, null);
+                tails[level].right = entry;
+                tails[level] = entry;
+                below = entry;
+            }
+        }
+        return index;
+    }
+
+    // Adds empty head levels until there are at least height levels
+    // When tails is given, the new head entries are also recorded as the tails of their levels
+    private void growTo(int height, Index[] tails) {
+        while (levels < height) {
+            head = new Index(null, head, null);
+            if (tails != null) tails[levels] = head;
+            levels++;
+        }
+    }
+
+    // Number of levels, each level present with probability 1/4
+    private int randomLevel() {
+        int bits = random.nextInt();
+        int height = 0;
+        while ((bits & 3) == 0 && height < MAX_LEVEL) {
+            height++;
+            bits >>>= 2;
+        }
+        return height;
+    }
+
+    // Returns the last node with a value less than key, or null if there is none
+    private LinkedList.Node predecessor(int key) {
+        Index q = head;
+        LinkedList.Node node = null;
+        while (q != null) {
+            Index r = q.right;
+            while (r != null && r.node.data < key) {
+                q = r;
+                r = r.right;
+            }
+            node = q.node;
+            q = q.down;
+        }
+        LinkedList.Node next = node == null ? list.head : node.next;
+        while (next != null && next.data < key) {
+            node = next;
+            next = next.next;
+        }
+        return node;
+    }
+
+    // Returns the first node with a value >= key, or null if there is none
+    static LinkedList.Node ceiling(SkipListIndex index, int key) {
+        LinkedList.Node pred = index.predecessor(key);
+        return pred == null ? index.list.head : pred.next;
+    }
+
+    // Checks if a node with the key is in the list
+    static boolean contains(SkipListIndex index, int key) {
+        LinkedList.Node node = ceiling(index, key);
+        return node != null && node.data == key;
+    }
+
+    // Inserts a new node with the key before any nodes with the same key, keeping the list sorted
+    static LinkedList.Node insert(SkipListIndex index, int key) {
+        int height = index.randomLevel();
+        index.growTo(height, null);
+
+        // The entry after which the new tower goes, on every level from the top down
+        Index[] preds = new Index[index.levels];
+        Index q = index.head;
+        for (int level = index.levels - 1; level >= 0; level--) {
+            Index r = q.right;
+            while (r != null && r.node.data < key) {
+                q = r;
+                r = r.right;
+            }
+            preds[level] = q;
+            q = q.down;
+        }
+
+        LinkedList list = index.list;
+        LinkedList.Node pred = preds.length > 0 ? preds[0].node : null;
+        LinkedList.Node next = pred == null ? list.head : pred.next;
+        while (next != null && next.data < key) {
+            pred = next;
+            next = next.next;
+        }
+        LinkedList.Node node = new LinkedList.Node(key);
+        if (pred == null) {
+            LinkedList.insertNewHead(list, node);
+        } else {
+            LinkedList.insertNode(pred, node);
+            if (list.tail == pred) list.tail = node;
+            list.size++;
+        }
+
+        Index below = null;
+        for (int level = 0; level < height; level++) {
+            Index entry = new Index(node, below, preds[level].right);
+            preds[level].right = entry;
+            below = entry;
+        }
+        return node;
+    }
+
+    // Deletes the first node with the key, returns false if there is none
+    static boolean delete(SkipListIndex index, int key) {
+        LinkedList list = index.list;
+        LinkedList.Node pred = index.predecessor(key);
+        LinkedList.Node target = pred == null ? list.head : pred.next;
+        if (target == null || target.data != key) return false;
+
+        // Unlink the tower of the target, its entries come right after the last entries with smaller keys
+        Index q = index.head;
+        while (q != null) {
+            Index r = q.right;
+            while (r != null && r.node.data < key) {
+                q = r;
+                r = r.right;
+            }
+            if (r != null && r.node == target) {
+                q.right = r.right;
+            }
+            q = q.down;
+        }
+
+        if (pred == null) {
+            list.head = target.next;
+        } else {
+            pred.next = target.next;
+        }
+        if (list.tail == target) list.tail = pred;
+        list.size--;
+        return true;
+    }
+
+    // Visits the values in [low, high] in order, returns false if the visitor stopped early
+    static boolean range(SkipListIndex index, int low, int high, TreeTraversal.IntVisitor visitor) {
+        for (LinkedList.Node node = ceiling(index, low); node != null && node.data <= high; node = node.next) {
+            if (!visitor.visit(node.data)) return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        int[] values = new int[1_000_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 2 * i;
+        }
+        LinkedList list = LinkedList.fromArray(values);
+        SkipListIndex index = build(list, 42);
+        System.out.println("Contains 1999998: " + contains(index, 1_999_998) + ", contains 1999999: " + contains(index, 1_999_999));
+        insert(index, 7);
+        delete(index, 8);
+        range(index, 0, 12, value -> {
+            System.out.print(value + " ");
+            return true;
+        });
+        System.out.println();
+        System.out.println("Length: " + LinkedList.countNodes(list));
+    }
+}
@@ -0,0 +1,120 @@
+package datastructures;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+
+/* An in-order Spliterator over the values of a BinaryTree, for IntStream pipelines.
+ * Unlike the Morris traversals in TreeTraversal this never writes to the tree, so several streams and other readers
+ * can use the same tree at the same time. It keeps the usual stack of the iterative in-order traversal instead:
+ * the stack holds the nodes whose value is still to come, each followed by its right subtree, with the next node
+ * to visit on top.
+ *
+ * trySplit splits at subtrees. The node at the bottom of the stack comes last, so the nodes above it, with their
+ * right subtrees, are handed off as the first half and this spliterator keeps the bottom node and its right subtree.
+ * Before anything has been visited that is exactly the left subtree of the root against the root and its right
+ * subtree. When only one node is left on the stack, its value is handed off and its right subtree is kept.
+ *
+ * When the tree keeps the size of every subtree (BinaryTree.counted), the size of each half is known exactly: the
+ * kept half is the bottom node and its right subtree, and everything else was handed off. The spliterator is SIZED
+ * and SUBSIZED then, so toArray and parallel streams can allocate and split by size. Other trees, built with
+ * appendNode or by hand, have stale sizes. For them the size is counted once, when it is first asked for, and is
+ * exact until the first split. After that each half is estimated as half of what was left.
+ */
+
+class TreeSpliterator implements Spliterator.OfInt {
+    private ArrayDeque<BinaryTree.Node> stack = new ArrayDeque<>();
+    private long estimate = -1; // Not counted yet
+    private boolean exact = true;
+    // True if the size of every subtree is up to date, then estimate is always exact
+    private final boolean sized;
+
+    TreeSpliterator(BinaryTree.Node root) {
+        this(root, false);
+    }
+
+    TreeSpliterator(BinaryTree.Node root, boolean sized) {
+        this.sized = sized;
+        if (sized) estimate = BinaryTree.size(root);
+        pushLeftEdge(root);
+    }
+
+    private TreeSpliterator(ArrayDeque<BinaryTree.Node> stack, long estimate, boolean sized) {
+        this.stack = stack;
+        this.estimate = estimate;
+        this.sized = sized;
+        exact = sized;
+    }
+
+    private void pushLeftEdge(BinaryTree.Node node) {
+        for (; node != null; node = node.leftChild) {
+            stack.push(node);
+        }
+    }
+
+    public boolean tryAdvance(IntConsumer action) {
+        BinaryTree.Node node = stack.poll();
+        if (node == null) return false;
+        pushLeftEdge(node.rightChild);
+        if (estimate > 0) estimate--;
+        action.accept(node.data);
+        return true;
+    }
+
+    public void forEachRemaining(IntConsumer action) {
+        BinaryTree.Node node;
+        while ((node = stack.poll()) != null) {
+            pushLeftEdge(node.rightChild);
+            action.accept(node.data);
+        }
+        estimate = 0;
+    }
+
+    public Spliterator.OfInt trySplit() {
+        if (stack.isEmpty()) return null;
+        long size = estimateSize();
+        exact = sized;
+        if (stack.size() == 1) {
+            BinaryTree.Node last = stack.peek();
+            if (last.rightChild == null) return null;
+            stack.pop();
+            pushLeftEdge(last.rightChild);
+            estimate = sized ? size - 1 : Math.max(size - 1, 1);
+            return Spliterators.spliterator(new int[] {last.data}, ORDERED | NONNULL);
+        }
+        ArrayDeque<BinaryTree.Node> first = stack;
+        stack = new ArrayDeque<>();
+        BinaryTree.Node bottom = first.pollLast();
+        stack.push(bottom);
+        long kept = sized ? 1 + BinaryTree.size(bottom.rightChild) : size - size / 2;
+        estimate = kept;
+        return new TreeSpliterator(first, size - kept, sized);
+    }
+
+    public long estimateSize() {
+        if (estimate < 0) estimate = countRemaining();
+        return estimate;
+    }
+
+    public int characteristics() {
+        if (sized) return ORDERED | NONNULL | SIZED | SUBSIZED;
+        return exact ? ORDERED | NONNULL | SIZED : ORDERED | NONNULL;
+    }
+
+    // Counts the nodes still to come: every node on the stack and its right subtree
+    private long countRemaining() {
+        ArrayDeque<BinaryTree.Node> pending = new ArrayDeque<>();
+        long count = stack.size();
+        for (BinaryTree.Node node : stack) {
+            if (node.rightChild != null) pending.push(node.rightChild);
+        }
+        BinaryTree.Node node;
+        while ((node = pending.poll()) != null) {
+            count++;
+            if (node.leftChild != null) pending.push(node.leftChild);
+            if (node.rightChild != null) pending.push(node.rightChild);
+        }
+        return count;
+    }
+}
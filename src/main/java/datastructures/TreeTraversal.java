@@ -0,0 +1,269 @@
+package datastructures;
+
+/* Traversals of a BinaryTree without recursion and without an explicit stack.
+ * The recursive traversals in BinaryTree use one call frame per level, which overflows on deep or skewed trees,
+ * and print every value. These use Morris threading instead: on the way down, the right child of the in-order
+ * predecessor of a node temporarily points back to the node, so the traversal can climb back up without a stack.
+ * Every thread is removed again before the traversal returns, so the tree is unchanged afterwards.
+ * The extra space is a few local variables (and one dummy node for postorder).
+ *
+ * Values are handed to an IntVisitor. A visitor returns false to stop the traversal early.
+ * While a traversal is running the tree is temporarily modified, so it must not be read or written by another
+ * thread at the same time.
+ *
+ * Any node can be passed as the root, which traverses only that subtree.
+ */
+
+class TreeTraversal {
+
+    enum Mode {
+        PREORDER, INORDER, POSTORDER;
+
+        // Maps the names used by BinaryTree.traversalHelper ("preorder", "inorder", "postorder") to a Mode
+        static Mode fromName(String name) {
+            for (Mode mode : values()) {
+                if (mode.name().equalsIgnoreCase(name)) return mode;
+            }
+            throw new IllegalArgumentException("Unknown traversal mode: " + name);
+        }
+    }
+
+    interface IntVisitor {
+        // Returns false to stop the traversal
+        boolean visit(int value);
+    }
+
+    // Traverses the subtree rooted at root in the given order
+    // Returns true if every node was visited, false if the visitor stopped the traversal
+    static boolean traverse(BinaryTree.Node root, Mode mode, IntVisitor visitor) {
+        switch (mode) {
+            case PREORDER:
+                return preOrder(root, visitor);
+            case INORDER:
+                return inOrder(root, visitor);
+            default:
+                return postOrder(root, visitor);
+        }
+    }
+
+    static boolean traverse(BinaryTree tree, Mode mode, IntVisitor visitor) {
+        return traverse(tree.root, mode, visitor);
+    }
+
+    // Returns the rightmost node of current's left subtree, stopping early at a thread that points back to current
+    private static BinaryTree.Node predecessor(BinaryTree.Node current) {
+        BinaryTree.Node pred = current.leftChild;
+        while (pred.rightChild != null && pred.rightChild != current) {
+            pred = pred.rightChild;
+        }
+        return pred;
+    }
+
+    // After the visitor stops, the loops only walk back up to remove the threads that are still in the tree.
+    // No new threads are made, and threads counts the ones left so the walk ends as soon as there are none.
+
+    static boolean inOrder(BinaryTree.Node root, IntVisitor visitor) {
+        BinaryTree.Node current = root;
+        boolean stopped = false;
+        int threads = 0;
+        while (current != null && !(stopped && threads == 0)) {
+            if (current.leftChild == null) {
+                if (!stopped) stopped = !visitor.visit(current.data);
+                current = current.rightChild;
+            } else {
+                BinaryTree.Node pred = predecessor(current);
+                if (pred.rightChild == null && stopped) {
+                    current = current.rightChild;
+                } else if (pred.rightChild == null) {
+                    pred.rightChild = current;
+                    threads++;
+                    current = current.leftChild;
+                } else {
+                    // Came back up through the thread, the left subtree is done
+                    pred.rightChild = null;
+                    threads--;
+                    if (!stopped) stopped = !visitor.visit(current.data);
+                    current = current.rightChild;
+                }
+            }
+        }
+        return !stopped;
+    }
+
+    static boolean preOrder(BinaryTree.Node root, IntVisitor visitor) {
+        BinaryTree.Node current = root;
+        boolean stopped = false;
+        int threads = 0;
+        while (current != null && !(stopped && threads == 0)) {
+            if (current.leftChild == null) {
+                if (!stopped) stopped = !visitor.visit(current.data);
+                current = current.rightChild;
+            } else {
+                BinaryTree.Node pred = predecessor(current);
+                if (pred.rightChild == null && stopped) {
+                    current = current.rightChild;
+                } else if (pred.rightChild == null) {
+                    // First time here, visit before going into the left subtree
+                    if (!stopped) stopped = !visitor.visit(current.data);
+                    pred.rightChild = current;
+                    threads++;
+                    current = current.leftChild;
+                } else {
+                    pred.rightChild = null;
+                    threads--;
+                    current = current.rightChild;
+                }
+            }
+        }
+        return !stopped;
+    }
+
+    // Postorder threads a dummy node above the root. When the traversal comes back up to a node through a thread,
+    // the right edge from its left child down to the predecessor is finished: it is reversed, visited bottom up and
+    // reversed back.
+    static boolean postOrder(BinaryTree.Node root, IntVisitor visitor) {
+        BinaryTree.Node dummy = new BinaryTree.Node();
+        dummy.leftChild = root;
+        BinaryTree.Node current = dummy;
+        boolean stopped = false;
+        int threads = 0;
+        while (current != null && !(stopped && threads == 0)) {
+            if (current.leftChild == null) {
+                current = current.rightChild;
+            } else {
+                BinaryTree.Node pred = predecessor(current);
+                if (pred.rightChild == null && stopped) {
+                    current = current.rightChild;
+                } else if (pred.rightChild == null) {
+                    pred.rightChild = current;
+                    threads++;
+                    current = current.leftChild;
+                } else {
+                    stopped = visitRightEdgeReversed(current.leftChild, pred, visitor, stopped);
+                    pred.rightChild = null;
+                    threads--;
+                    current = current.rightChild;
+                }
+            }
+        }
+        return !stopped;
+    }
+
+    // Visits the nodes on the right edge from "from" down to "to" in reverse order
+    // Returns whether the traversal is stopped
+    private static boolean visitRightEdgeReversed(BinaryTree.Node from, BinaryTree.Node to, IntVisitor visitor,
+                                                  boolean stopped) {
+        reverseRightEdge(from, to);
+        for (BinaryTree.Node node = to; !stopped; node = node.rightChild) {
+            stopped = !visitor.visit(node.data);
+            if (node == from) break;
+        }
+        reverseRightEdge(to, from);
+        return stopped;
+    }
+
+    private static void reverseRightEdge(BinaryTree.Node from, BinaryTree.Node to) {
+        if (from == to) return;
+        BinaryTree.Node x = from;
+        BinaryTree.Node y = from.rightChild;
+        while (x != to) {
+            BinaryTree.Node z = y.rightChild;
+            y.rightChild = x;
+            x = y;
+            y = z;
+        }
+    }
+
+    // Visits the keys in [low, high] in increasing order, for a binary search tree
+    // Subtrees that lie completely outside the range are not walked, and the traversal ends after the first key
+    // above high once all threads are removed.
+    // Returns true if the range was exhausted, false if the visitor stopped the traversal
+    static boolean inOrderRange(BinaryTree.Node root, int low, int high, IntVisitor visitor) {
+        BinaryTree.Node current = root;
+        boolean stopped = false;
+        boolean done = false;
+        int threads = 0;
+        while (current != null && !((stopped || done) && threads == 0)) {
+            // Everything in the left subtree is smaller than low: skip it without threading
+            if (current.leftChild == null || current.data < low) {
+                if (current.data >= low && !stopped && !done) {
+                    if (current.data > high) {
+                        done = true;
+                    } else {
+                        stopped = !visitor.visit(current.data);
+                    }
+                }
+                current = current.rightChild;
+            } else {
+                BinaryTree.Node pred = predecessor(current);
+                if (pred.rightChild == null && (stopped || done)) {
+                    current = current.rightChild;
+                } else if (pred.rightChild == null) {
+                    pred.rightChild = current;
+                    threads++;
+                    current = current.leftChild;
+                } else {
+                    pred.rightChild = null;
+                    threads--;
+                    if (!stopped && !done) {
+                        if (current.data > high) {
+                            done = true;
+                        } else {
+                            stopped = !visitor.visit(current.data);
+                        }
+                    }
+                    current = current.rightChild;
+                }
+            }
+        }
+        return !stopped;
+    }
+
+    // Counts the nodes of the subtree
+    static int countNodes(BinaryTree.Node root) {
+        int[] count = new int[1];
+        inOrder(root, value -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    // Copies the values of the subtree into an array in the given order
+    static int[] toArray(BinaryTree.Node root, Mode mode) {
+        int[] values = new int[countNodes(root)];
+        int[] index = new int[1];
+        traverse(root, mode, value -> {
+            values[index[0]++] = value;
+            return true;
+        });
+        return values;
+    }
+
+    public static void main(String[] args) {
+        // A right-skewed tree deep enough to overflow the recursive traversals
+        BinaryTree tree = new BinaryTree();
+        BinaryTree.Node last = null;
+        for (int i = 0; i < 1_000_000; i++) {
+            BinaryTree.Node node = new BinaryTree.Node(i);
+            if (last == null) {
+                tree.root = node;
+            } else {
+                last.rightChild = node;
+            }
+            last = node;
+        }
+        long[] sum = new long[1];
+        traverse(tree, Mode.POSTORDER, value -> {
+            sum[0] += value;
+            return true;
+        });
+        System.out.println("Sum: " + sum[0]);
+
+        inOrderRange(tree.root, 10, 14, value -> {
+            System.out.print(value + " ");
+            return true;
+        });
+        System.out.println();
+    }
+}
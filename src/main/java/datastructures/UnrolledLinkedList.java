@@ -0,0 +1,331 @@
+package datastructures;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/* Why unroll a LinkedList?
+ * A LinkedList.Node holds one int, so a traversal pays a pointer chase (and usually a cache miss) for every element.
+ * An unrolled list keeps the links but stores up to CAPACITY values in an int array in each node. A traversal reads
+ * CAPACITY values one after the other from a single array, which the CPU prefetches, and only follows a pointer
+ * between nodes, so scans run at close to array speed.
+ *
+ * Inserting in the middle shifts at most CAPACITY values inside one node. A full node is split into two half full
+ * nodes first. After a delete, a node that is less than half full takes values from the node after it, or is merged
+ * with it when both fit into one node, so every node but the last stays at least half full and the list never takes
+ * more than about twice the memory of an int array.
+ *
+ * Positions are indexes from the head (0 is the first value). Finding an index skips whole nodes by their count,
+ * so it takes O(n / CAPACITY) steps instead of O(n).
+ */
+
+class UnrolledLinkedList {
+    // 64 ints are 256 bytes, four cache lines
+    static final int CAPACITY = 64;
+
+    static class Node {
+        final int[] values = new int[CAPACITY];
+        int count;
+        Node next;
+    }
+
+    Node head;
+    Node tail;
+    int size;
+
+    // Builds a list from the values of an array, filling every node
+    static UnrolledLinkedList fromArray(int[] values) {
+        UnrolledLinkedList list = new UnrolledLinkedList();
+        for (int i = 0; i < values.length; i += CAPACITY) {
+            Node node = new Node();
+            node.count = Math.min(CAPACITY, values.length - i);
+            System.arraycopy(values, i, node.values, 0, node.count);
+            linkLast(list, node);
+        }
+        list.size = values.length;
+        return list;
+    }
+
+    private static void linkLast(UnrolledLinkedList list, Node node) {
+        if (list.head == null) {
+            list.head = node;
+        } else {
+            list.tail.next = node;
+        }
+        list.tail = node;
+    }
+
+    static boolean checkIfEmpty(UnrolledLinkedList list) {
+        return list.size == 0;
+    }
+
+    static int countNodes(UnrolledLinkedList list) {
+        return list.size;
+    }
+
+    static void printLinkedList(UnrolledLinkedList list) {
+        StringBuilder line = new StringBuilder();
+        for (Node node = list.head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                line.append(node.values[i]).append(' ');
+            }
+        }
+        System.out.println(line);
+    }
+
+    // Appends a value to the end of the list
+    static void appendNode(UnrolledLinkedList list, int value) {
+        if (list.tail == null || list.tail.count == CAPACITY) {
+            linkLast(list, new Node());
+        }
+        list.tail.values[list.tail.count++] = value;
+        list.size++;
+    }
+
+    // Inserts a value at the beginning of the list
+    static void insertNewHead(UnrolledLinkedList list, int value) {
+        insert(list, 0, value);
+    }
+
+    // Inserts a value after the value at index, like LinkedList.insertNode does after a node
+    static void insertNode(UnrolledLinkedList list, int index, int value) {
+        checkIndex(list, index);
+        insert(list, index + 1, value);
+    }
+
+    // Inserts a value so that it ends up at index, 0 <= index <= size
+    static void insert(UnrolledLinkedList list, int index, int value) {
+        if (index < 0 || index > list.size) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + list.size);
+        }
+        if (index == list.size) {
+            appendNode(list, value);
+            return;
+        }
+        Node node = list.head;
+        while (index > node.count || (index == node.count && node.count == CAPACITY)) {
+            index -= node.count;
+            node = node.next;
+        }
+        if (node.count == CAPACITY) {
+            Node second = split(list, node);
+            if (index > node.count) {
+                index -= node.count;
+                node = second;
+            }
+        }
+        System.arraycopy(node.values, index, node.values, index + 1, node.count - index);
+        node.values[index] = value;
+        node.count++;
+        list.size++;
+    }
+
+    // Moves the upper half of a full node into a new node after it, returns the new node
+    private static Node split(UnrolledLinkedList list, Node node) {
+        Node second = new Node();
+        int half = CAPACITY / 2;
+        System.arraycopy(node.values, half, second.values, 0, CAPACITY - half);
+        second.count = CAPACITY - half;
+        node.count = half;
+        second.next = node.next;
+        node.next = second;
+        if (list.tail == node) list.tail = second;
+        return second;
+    }
+
+    // Returns the value at index
+    static int get(UnrolledLinkedList list, int index) {
+        checkIndex(list, index);
+        Node node = list.head;
+        while (index >= node.count) {
+            index -= node.count;
+            node = node.next;
+        }
+        return node.values[index];
+    }
+
+    // Returns the index of the first occurrence of the key, or -1
+    static int indexOf(UnrolledLinkedList list, int key) {
+        int base = 0;
+        for (Node node = list.head; node != null; node = node.next) {
+            int[] values = node.values;
+            for (int i = 0; i < node.count; i++) {
+                if (values[i] == key) return base + i;
+            }
+            base += node.count;
+        }
+        return -1;
+    }
+
+    static boolean contains(UnrolledLinkedList list, int key) {
+        return indexOf(list, key) >= 0;
+    }
+
+    // Deletes the first value equal to key, returns false if there is none
+    static boolean deleteNode(UnrolledLinkedList list, int key) {
+        Node previous = null;
+        for (Node node = list.head; node != null; previous = node, node = node.next) {
+            int[] values = node.values;
+            for (int i = 0; i < node.count; i++) {
+                if (values[i] == key) {
+                    removeAt(list, previous, node, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Deletes the value at index and returns it
+    static int delete(UnrolledLinkedList list, int index) {
+        checkIndex(list, index);
+        Node previous = null;
+        Node node = list.head;
+        while (index >= node.count) {
+            index -= node.count;
+            previous = node;
+            node = node.next;
+        }
+        int value = node.values[index];
+        removeAt(list, previous, node, index);
+        return value;
+    }
+
+    // Removes values[i] from node and keeps the node at least half full by borrowing from or merging with the next one
+    private static void removeAt(UnrolledLinkedList list, Node previous, Node node, int i) {
+        System.arraycopy(node.values, i + 1, node.values, i, node.count - i - 1);
+        node.count--;
+        list.size--;
+        if (node.count == 0) {
+            unlink(list, previous, node);
+            return;
+        }
+        Node next = node.next;
+        if (node.count >= CAPACITY / 2 || next == null) return;
+        if (node.count + next.count <= CAPACITY) {
+            System.arraycopy(next.values, 0, node.values, node.count, next.count);
+            node.count += next.count;
+            unlink(list, node, next);
+        } else {
+            int moved = CAPACITY / 2 - node.count;
+            System.arraycopy(next.values, 0, node.values, node.count, moved);
+            System.arraycopy(next.values, moved, next.values, 0, next.count - moved);
+            node.count += moved;
+            next.count -= moved;
+        }
+    }
+
+    private static void unlink(UnrolledLinkedList list, Node previous, Node node) {
+        if (previous == null) {
+            list.head = node.next;
+        } else {
+            previous.next = node.next;
+        }
+        if (list.tail == node) list.tail = previous;
+    }
+
+    // Returns the kth to last value, k = 1 is the last one
+    static int kthToLastElement(UnrolledLinkedList list, int k) {
+        if (k < 1 || k > list.size) {
+            throw new IndexOutOfBoundsException("k = " + k + ", size = " + list.size);
+        }
+        return get(list, list.size - k);
+    }
+
+    // Keeps the first occurrence of every value, compacting the values towards the head in one pass
+    // Time complexity: O(n)
+    static void removeDuplicatesRef(UnrolledLinkedList list) {
+        IntHashSet seen = new IntHashSet(list.size);
+        Node target = list.head;
+        int targetIndex = 0;
+        for (Node node = list.head; node != null; node = node.next) {
+            int count = node.count;
+            for (int i = 0; i < count; i++) {
+                int value = node.values[i];
+                if (!seen.add(value)) continue;
+                if (targetIndex == CAPACITY) {
+                    target.count = CAPACITY;
+                    target = target.next;
+                    targetIndex = 0;
+                }
+                target.values[targetIndex++] = value;
+            }
+        }
+        if (target == null) return;
+        // target is never ahead of the node being read, so every node after it is now empty
+        target.count = targetIndex;
+        target.next = null;
+        list.tail = target;
+        list.size = seen.size();
+        if (targetIndex == 0) {
+            Node previous = null;
+            for (Node node = list.head; node != target; node = node.next) {
+                previous = node;
+            }
+            unlink(list, previous, target);
+        }
+    }
+
+    // Iterates over the values from the head
+    static PrimitiveIterator.OfInt iterator(UnrolledLinkedList list) {
+        return new PrimitiveIterator.OfInt() {
+            private Node node = list.head;
+            private int index = 0;
+
+            public boolean hasNext() {
+                while (node != null && index == node.count) {
+                    node = node.next;
+                    index = 0;
+                }
+                return node != null;
+            }
+
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return node.values[index++];
+            }
+        };
+    }
+
+    // Copies the values into an array
+    static int[] toArray(UnrolledLinkedList list) {
+        int[] values = new int[list.size];
+        int offset = 0;
+        for (Node node = list.head; node != null; node = node.next) {
+            System.arraycopy(node.values, 0, values, offset, node.count);
+            offset += node.count;
+        }
+        return values;
+    }
+
+    private static void checkIndex(UnrolledLinkedList list, int index) {
+        if (index < 0 || index >= list.size) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + list.size);
+        }
+    }
+
+    public static void main(String[] args) {
+        UnrolledLinkedList list = new UnrolledLinkedList();
+        for (int i = 1; i <= 6; i++) {
+            appendNode(list, i % 4);
+        }
+        printLinkedList(list);
+        insertNode(list, 2, 9);
+        printLinkedList(list);
+        deleteNode(list, 9);
+        removeDuplicatesRef(list);
+        printLinkedList(list);
+        System.out.println("The 2nd to last element is " + kthToLastElement(list, 2));
+
+        int[] values = new int[10_000_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        UnrolledLinkedList big = fromArray(values);
+        insert(big, 5_000_000, -1);
+        long sum = 0;
+        for (PrimitiveIterator.OfInt it = iterator(big); it.hasNext(); ) {
+            sum += it.nextInt();
+        }
+        System.out.println("Sum: " + sum + ", length: " + countNodes(big));
+    }
+}